@@ -0,0 +1,235 @@
+package com.github.bduisenov;
+
+import lombok.NonNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.github.bduisenov.Validator.NOT_NULL_MESSAGE;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+/**
+ * Validator for rules that depend on I/O, e.g. lookups in a remote service. Every rule is started as soon as it is
+ * declared, so independent rules run concurrently, and their results are combined in declaration order into a single
+ * {@link CompletionStage}.
+ * <p>
+ * Constraints either return a {@link CompletionStage} themselves, or are blocking {@link Predicate}s that are evaluated
+ * in the executor of this validator. Projections are evaluated in the calling thread.
+ * <pre>{@code
+ * AsyncValidator.of(user)
+ *     .validate(USER_SPEC)
+ *     .validate(User::getEmail, emailService::checkUnique)
+ *     .get()
+ *     .thenAccept(this::register);
+ * }</pre>
+ *
+ * @param <T> type of the validated value
+ */
+public final class AsyncValidator<T> {
+
+    private final T value;
+
+    private Executor executor = defaultExecutor();
+
+    private final List<CompletableFuture<List<ValidatorViolation>>> rules = new ArrayList<>();
+
+    private AsyncValidator(T value) {
+        this.value = value;
+    }
+
+    public static <T> AsyncValidator<T> of(@NonNull T value) {
+        return new AsyncValidator<>(value);
+    }
+
+    /**
+     * @return executor of blocking constraints: a virtual thread per task when the jvm supports virtual threads,
+     * otherwise a dedicated pool of up to four daemon threads per processor, whose idle threads terminate after a
+     * minute. Blocking constraints never run in the {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+     */
+    public static Executor defaultExecutor() {
+        return DefaultExecutor.INSTANCE;
+    }
+
+    /**
+     * @param executor executor of the blocking constraints declared after this call
+     * @return
+     */
+    public AsyncValidator<T> withExecutor(@NonNull Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Evaluates synchronous rules in the calling thread, e.g. a {@link ValidatorSpec}.
+     *
+     * @param rules
+     * @return
+     */
+    public AsyncValidator<T> validate(@NonNull Function<T, ? extends Validator<T, ?>> rules) {
+        List<ValidatorViolation> violations = rules.apply(value).getViolations();
+        this.rules.add(CompletableFuture.completedFuture(violations));
+        return this;
+    }
+
+    /**
+     * @param fieldName
+     * @param projection
+     * @param validation returns the errors of the attribute, completes with an empty list when it is valid
+     * @param <U>
+     * @return
+     */
+    public <U> AsyncValidator<T> validate(@NonNull String fieldName, @NonNull Function<T, U> projection,
+                                          @NonNull Function<U, ? extends CompletionStage<List<String>>> validation) {
+        U attr = projection.apply(value);
+        if (attr == null) {
+            return add(CompletableFuture.completedFuture(singletonList(NOT_NULL_MESSAGE)), fieldName);
+        }
+        return add(validation.apply(attr), fieldName);
+    }
+
+    public <U> AsyncValidator<T> validate(@NonNull Projection<T, U> projection,
+                                          @NonNull Function<U, ? extends CompletionStage<List<String>>> validation) {
+        return validate(projection.getName(), projection, validation);
+    }
+
+    public <U> AsyncValidator<T> validateOpt(@NonNull String fieldName, @NonNull Function<T, U> projection,
+                                             @NonNull Function<U, ? extends CompletionStage<List<String>>> validation) {
+        U attr = projection.apply(value);
+        return attr != null
+                ? add(validation.apply(attr), fieldName)
+                : this;
+    }
+
+    public <U> AsyncValidator<T> validateOpt(@NonNull Projection<T, U> projection,
+                                             @NonNull Function<U, ? extends CompletionStage<List<String>>> validation) {
+        return validateOpt(projection.getName(), projection, validation);
+    }
+
+    /**
+     * Evaluates a blocking {@code validation} in the executor of this validator.
+     *
+     * @param fieldName
+     * @param projection
+     * @param validation
+     * @param message
+     * @param <U>
+     * @return
+     */
+    public <U> AsyncValidator<T> validateBlocking(@NonNull String fieldName, @NonNull Function<T, U> projection,
+                                                  @NonNull Predicate<U> validation, @NonNull String message) {
+        List<String> errors = singletonList(message);
+        return validate(fieldName, projection,
+                attr -> CompletableFuture.supplyAsync(() -> validation.test(attr) ? emptyList() : errors, executor));
+    }
+
+    public <U> AsyncValidator<T> validateBlocking(@NonNull Projection<T, U> projection,
+                                                  @NonNull Predicate<U> validation, @NonNull String message) {
+        return validateBlocking(projection.getName(), projection, validation, message);
+    }
+
+    /**
+     * @return violations of all rules in declaration order, completes exceptionally if any constraint failed
+     */
+    public CompletionStage<List<ValidatorViolation>> getViolations() {
+        CompletableFuture<?>[] stages = rules.toArray(new CompletableFuture<?>[0]);
+        return CompletableFuture.allOf(stages).thenApply(ignored -> {
+            List<ValidatorViolation> violations = emptyList();
+            for (CompletableFuture<?> stage : stages) {
+                @SuppressWarnings("unchecked")
+                List<ValidatorViolation> xs = (List<ValidatorViolation>) stage.join();
+                if (!xs.isEmpty()) {
+                    if (violations.isEmpty()) {
+                        violations = new ArrayList<>();
+                    }
+                    violations.addAll(xs);
+                }
+            }
+            return violations;
+        });
+    }
+
+    /**
+     * Asynchronous counterpart of {@link Validator#getOrThrow()}.
+     *
+     * @return stage with the validated value, completes exceptionally with a {@link ValidationException} when there
+     * are violations
+     */
+    public CompletionStage<T> get() {
+        return getViolations().thenApply(violations -> {
+            if (!violations.isEmpty()) {
+                throw new ValidationException(violations);
+            }
+            return value;
+        });
+    }
+
+    private AsyncValidator<T> add(CompletionStage<List<String>> errors, String fieldName) {
+        rules.add(errors.toCompletableFuture().thenApply(xs -> xs.isEmpty()
+                ? emptyList()
+                : singletonList(ValidatorViolation.fromErrors(fieldName, xs))));
+        return this;
+    }
+
+    /**
+     * Executors that don't need to be shut down: virtual threads are started per task, pooled platform threads are
+     * daemons that terminate when idle.
+     */
+    private static final class DefaultExecutor {
+
+        private static final int MAX_THREADS = 4 * Runtime.getRuntime().availableProcessors();
+
+        private static final long KEEP_ALIVE_SECONDS = 60;
+
+        private static final AtomicInteger THREADS = new AtomicInteger();
+
+        private static final Executor INSTANCE = create();
+
+        /**
+         * Virtual threads are a preview feature of jdk 19 and 20, without {@code --enable-preview} they throw
+         * {@link UnsupportedOperationException}, so a thread is started once before they are chosen.
+         */
+        private static Executor create() {
+            try {
+                MethodHandle startVirtualThread = MethodHandles.publicLookup().findStatic(Thread.class,
+                        "startVirtualThread", MethodType.methodType(Thread.class, Runnable.class));
+                start(startVirtualThread, () -> {
+                });
+                return task -> start(startVirtualThread, task);
+            } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+                ThreadPoolExecutor pool = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, KEEP_ALIVE_SECONDS,
+                        TimeUnit.SECONDS, new LinkedBlockingQueue<>(), DefaultExecutor::newThread);
+                pool.allowCoreThreadTimeOut(true);
+                return pool;
+            }
+        }
+
+        private static void start(MethodHandle startVirtualThread, Runnable task) {
+            try {
+                Thread ignored = (Thread) startVirtualThread.invokeExact(task);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "async-validator-" + THREADS.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
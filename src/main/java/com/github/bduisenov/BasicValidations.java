@@ -2,28 +2,67 @@ package com.github.bduisenov;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.text.MessageFormat;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 
+/**
+ * Common constraints.
+ * <p>
+ * Methods that take the validated value return the shared empty list when the value is valid. Default messages of
+ * invalid values are {@link MessageTemplate}s, that are rendered only when the errors are read and can be translated in
+ * the {@code ValidationMessages} bundle under the {@code validator.*} keys. Methods that take only the bounds define a
+ * constraint for {@link Validator#validate(Projection, Pair)}, their message is rendered once when the constraint is
+ * defined.
+ */
 public class BasicValidations {
 
+    private static final String NOT_NULL_MESSAGE = "may not be null";
+
+    private static final String IS_NULL_MESSAGE = "must be null";
+
+    /**
+     * Largest {@code long} magnitude up to which every {@code long} is an exact {@code double}.
+     */
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    private static final MessageTemplate MIN_MESSAGE = MessageTemplate.of("validator.min", "must be larger than or equal to {min}");
+
+    private static final MessageTemplate MAX_MESSAGE = MessageTemplate.of("validator.max", "must be less than or equal to {max}");
+
+    private static final MessageTemplate MIN_LENGTH_MESSAGE = MessageTemplate.of("validator.minLength", "length must be larger then or equal to {min}");
+
+    private static final MessageTemplate MAX_LENGTH_MESSAGE = MessageTemplate.of("validator.maxLength", "length must be less or equal to {max}");
+
+    private static final MessageTemplate SIZE_MESSAGE = MessageTemplate.of("validator.size", "size must be between {min} and {max}");
+
+    private static final Pair<Predicate<String>, String> NOT_EMPTY = new Pair<>(val -> val != null && val.length() > 0, "may not be empty");
+
+    private static final Pair<Predicate<Object>, String> NOT_NULL = new Pair<>(Objects::nonNull, NOT_NULL_MESSAGE);
+
+    private static final List<String> NOT_NULL_ERRORS = singletonList(NOT_NULL_MESSAGE);
+
+    private static final List<String> IS_NULL_ERRORS = singletonList(IS_NULL_MESSAGE);
+
     public static Pair<Predicate<String>, String> notEmpty() {
-        return new Pair<>(val -> val != null && val.length() > 0, "may not be empty");
+        return NOT_EMPTY;
     }
 
+    @SuppressWarnings("unchecked")
     public static <T> Pair<Predicate<T>, String> notNull() {
-        return new Pair<>(Objects::nonNull, "may not be null");
+        return (Pair<Predicate<T>, String>) (Pair<?, String>) NOT_NULL;
     }
 
     public static <T> List<String> notNull(T val) {
-        return notNull(val, "may not be null");
+        return val != null ? emptyList() : NOT_NULL_ERRORS;
     }
 
     public static <T> List<String> notNull(T val, String message) {
@@ -34,7 +73,7 @@ public class BasicValidations {
     }
 
     public static <T> List<String> isNull(T val) {
-        return isNull(val, "must be null");
+        return val == null ? emptyList() : IS_NULL_ERRORS;
     }
 
     public static <T> List<String> isNull(T val, String message) {
@@ -44,76 +83,172 @@ public class BasicValidations {
         return singletonList(message);
     }
 
+    // MARK: MIN
+
+    /**
+     * @return constraint for any {@link Number}, compared without truncation
+     */
+    public static <N extends Number> Pair<Predicate<N>, String> min(long min) {
+        return new Pair<>(val -> isAtLeast(val, min), MIN_MESSAGE.render(min));
+    }
+
     public static List<String> min(BigDecimal val, long min) {
-        return min(val.longValue(), min);
+        return min(val, BigDecimal.valueOf(min));
     }
 
     public static List<String> min(BigDecimal val, long min, String message) {
-        return min(val.longValue(), min, message);
+        return min(val, BigDecimal.valueOf(min), message);
+    }
+
+    public static List<String> min(BigDecimal val, BigDecimal min) {
+        return val.compareTo(min) >= 0 ? emptyList() : MIN_MESSAGE.errors(min);
+    }
+
+    public static List<String> min(BigDecimal val, BigDecimal min, String message) {
+        return check(val.compareTo(min) >= 0, message);
     }
 
     public static List<String> min(BigInteger val, long min) {
-        return min(val.longValue(), min);
+        return min(val, BigInteger.valueOf(min));
     }
 
     public static List<String> min(BigInteger val, long min, String message) {
-        return min(val.longValue(), min, message);
+        return min(val, BigInteger.valueOf(min), message);
+    }
+
+    public static List<String> min(BigInteger val, BigInteger min) {
+        return val.compareTo(min) >= 0 ? emptyList() : MIN_MESSAGE.errors(min);
+    }
+
+    public static List<String> min(BigInteger val, BigInteger min, String message) {
+        return check(val.compareTo(min) >= 0, message);
+    }
+
+    public static List<String> min(int val, int min) {
+        return val >= min ? emptyList() : MIN_MESSAGE.errors(min);
+    }
+
+    public static List<String> min(int val, int min, String message) {
+        return check(val >= min, message);
     }
 
     public static List<String> min(long val, long min) {
-        return min(val, min, MessageFormat.format("must be larger than or equal to {0}", min));
+        return val >= min ? emptyList() : MIN_MESSAGE.errors(min);
     }
 
     public static List<String> min(long val, long min, String message) {
-        if (val >= min) {
-            return emptyList();
-        }
-        return singletonList(message);
+        return check(val >= min, message);
+    }
+
+    public static List<String> min(double val, double min) {
+        return val >= min ? emptyList() : MIN_MESSAGE.errors(min);
+    }
+
+    public static List<String> min(double val, double min, String message) {
+        return check(val >= min, message);
+    }
+
+    // MARK: MAX
+
+    /**
+     * @return constraint for any {@link Number}, compared without truncation
+     */
+    public static <N extends Number> Pair<Predicate<N>, String> max(long max) {
+        return new Pair<>(val -> isAtMost(val, max), MAX_MESSAGE.render(max));
     }
 
     public static List<String> max(BigDecimal val, long max) {
-        return max(val.longValue(), max);
+        return max(val, BigDecimal.valueOf(max));
     }
 
     public static List<String> max(BigDecimal val, long max, String message) {
-        return max(val.longValue(), max, message);
+        return max(val, BigDecimal.valueOf(max), message);
+    }
+
+    public static List<String> max(BigDecimal val, BigDecimal max) {
+        return val.compareTo(max) <= 0 ? emptyList() : MAX_MESSAGE.errors(max);
+    }
+
+    public static List<String> max(BigDecimal val, BigDecimal max, String message) {
+        return check(val.compareTo(max) <= 0, message);
     }
 
     public static List<String> max(BigInteger val, long max) {
-        return max(val.longValue(), max);
+        return max(val, BigInteger.valueOf(max));
     }
 
     public static List<String> max(BigInteger val, long max, String message) {
-        return max(val.longValue(), max, message);
+        return max(val, BigInteger.valueOf(max), message);
+    }
+
+    public static List<String> max(BigInteger val, BigInteger max) {
+        return val.compareTo(max) <= 0 ? emptyList() : MAX_MESSAGE.errors(max);
+    }
+
+    public static List<String> max(BigInteger val, BigInteger max, String message) {
+        return check(val.compareTo(max) <= 0, message);
+    }
+
+    public static List<String> max(int val, int max) {
+        return val <= max ? emptyList() : MAX_MESSAGE.errors(max);
+    }
+
+    public static List<String> max(int val, int max, String message) {
+        return check(val <= max, message);
     }
 
     public static List<String> max(long val, long max) {
-        return max(val, max, MessageFormat.format("must be less than or equal to {0}", max));
+        return val <= max ? emptyList() : MAX_MESSAGE.errors(max);
     }
 
     public static List<String> max(long val, long max, String message) {
-        if (val <= max) {
-            return emptyList();
-        }
-        return singletonList(message);
+        return check(val <= max, message);
+    }
+
+    public static List<String> max(double val, double max) {
+        return val <= max ? emptyList() : MAX_MESSAGE.errors(max);
+    }
+
+    public static List<String> max(double val, double max, String message) {
+        return check(val <= max, message);
+    }
+
+    // MARK: LENGTH
+
+    public static Pair<Predicate<String>, String> minLength(int min) {
+        return new Pair<>(val -> val.length() >= min, MIN_LENGTH_MESSAGE.render(min));
     }
 
     public static List<String> minLength(String val, int min) {
-        return minLength(val.toCharArray(), min);
+        return minLength(val.length(), min);
     }
 
     public static List<String> minLength(char[] val, int min) {
-        return min(val.length, min, MessageFormat.format("length must be larger then or equal to {0}", min));
+        return minLength(val.length, min);
+    }
+
+    private static List<String> minLength(int length, int min) {
+        return length >= min ? emptyList() : MIN_LENGTH_MESSAGE.errors(min);
+    }
+
+    public static Pair<Predicate<String>, String> maxLength(int max) {
+        return new Pair<>(val -> val.length() <= max, MAX_LENGTH_MESSAGE.render(max));
     }
 
     public static List<String> maxLength(String val, int max) {
-        return maxLength(val.toCharArray(), max);
+        return maxLength(val.length(), max);
     }
 
     public static List<String> maxLength(char[] val, int max) {
-        return max(val.length, max, MessageFormat.format("length must be less or equal to {0}", max));
+        return maxLength(val.length, max);
     }
 
+    private static List<String> maxLength(int length, int max) {
+        return length <= max ? emptyList() : MAX_LENGTH_MESSAGE.errors(max);
+    }
+
+    // MARK: SIZE
+
     public static List<String> size(String val, int min, int max) {
         return size(val.length(), min, max);
     }
@@ -122,31 +257,86 @@ public class BasicValidations {
         return size(val.length(), min, max, message);
     }
 
-    public static List<String> size(Collection val, int min, int max) {
+    public static List<String> size(Collection<?> val, int min, int max) {
         return size(val.size(), min, max);
     }
 
-    public static List<String> size(Collection val, int min, int max, String message) {
+    public static List<String> size(Collection<?> val, int min, int max, String message) {
         return size(val.size(), min, max, message);
     }
 
-    public static List<String> size(Map val, int min, int max) {
+    public static List<String> size(Map<?, ?> val, int min, int max) {
         return size(val.size(), min, max);
     }
 
-    public static List<String> size(Map val, int min, int max, String message) {
+    public static List<String> size(Map<?, ?> val, int min, int max, String message) {
         return size(val.size(), min, max, message);
     }
 
     public static List<String> size(int val, int min, int max) {
-        return size(val, min, max, MessageFormat.format("size must be between {0} and {1}", min, max));
+        if (val >= min && val <= max) {
+            return emptyList();
+        }
+        return SIZE_MESSAGE.errors(min, max);
     }
 
     public static List<String> size(int val, int min, int max, String message) {
-        if (val >= min && val <= max) {
+        return check(val >= min && val <= max, message);
+    }
+
+    private static List<String> check(boolean valid, String message) {
+        if (valid) {
             return emptyList();
         }
         return singletonList(message);
     }
 
+    private static boolean isAtLeast(Number val, long min) {
+        if (val instanceof BigDecimal) {
+            return ((BigDecimal) val).compareTo(BigDecimal.valueOf(min)) >= 0;
+        }
+        if (val instanceof BigInteger) {
+            return ((BigInteger) val).compareTo(BigInteger.valueOf(min)) >= 0;
+        }
+        if (isIntegral(val)) {
+            return val.longValue() >= min;
+        }
+        double fraction = val.doubleValue();
+        return !Double.isNaN(fraction) && compare(fraction, min) >= 0;
+    }
+
+    private static boolean isAtMost(Number val, long max) {
+        if (val instanceof BigDecimal) {
+            return ((BigDecimal) val).compareTo(BigDecimal.valueOf(max)) <= 0;
+        }
+        if (val instanceof BigInteger) {
+            return ((BigInteger) val).compareTo(BigInteger.valueOf(max)) <= 0;
+        }
+        if (isIntegral(val)) {
+            return val.longValue() <= max;
+        }
+        double fraction = val.doubleValue();
+        return !Double.isNaN(fraction) && compare(fraction, max) <= 0;
+    }
+
+    /**
+     * Compares exactly also the bounds above 2<sup>53</sup>, which have no exact {@code double}.
+     *
+     * @param val number that is not NaN
+     */
+    private static int compare(double val, long bound) {
+        if (Math.abs(bound) <= MAX_EXACT_DOUBLE || Double.isInfinite(val)) {
+            return val < bound ? -1 : val > bound ? 1 : 0;
+        }
+        return new BigDecimal(val).compareTo(BigDecimal.valueOf(bound));
+    }
+
+    /**
+     * @return {@code true} for the types whose {@code longValue()} is exact, other numbers may have a fraction
+     */
+    private static boolean isIntegral(Number val) {
+        return val instanceof Long || val instanceof Integer || val instanceof Short || val instanceof Byte
+                || val instanceof AtomicLong || val instanceof AtomicInteger || val instanceof LongAdder;
+    }
+
 }
@@ -0,0 +1,130 @@
+package com.github.bduisenov;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Result of a batch validation, see {@link ValidatorSpec#validateAll(java.util.Iterator)}. Records are addressed by
+ * their position in the batch. Validity is kept in a bitmap and violations are stored only for invalid records.
+ */
+public final class BatchResult {
+
+    private final int size;
+
+    private final BitSet valid;
+
+    private final int[] invalidIndices;
+
+    private final List<List<ValidatorViolation>> violations;
+
+    private BatchResult(int size, BitSet valid, int[] invalidIndices, List<List<ValidatorViolation>> violations) {
+        this.size = size;
+        this.valid = valid;
+        this.invalidIndices = invalidIndices;
+        this.violations = violations;
+    }
+
+    /**
+     * @return number of validated records
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isValid(int index) {
+        checkIndex(index);
+        return valid.get(index);
+    }
+
+    public boolean isAllValid() {
+        return invalidIndices.length == 0;
+    }
+
+    /**
+     * @return bitmap with a bit set for every valid record
+     */
+    public BitSet getValid() {
+        return (BitSet) valid.clone();
+    }
+
+    public int getInvalidCount() {
+        return invalidIndices.length;
+    }
+
+    /**
+     * @return positions of invalid records in ascending order
+     */
+    public int[] getInvalidIndices() {
+        return invalidIndices.clone();
+    }
+
+    /**
+     * @return violations of the record at {@code index}, empty for a valid record
+     */
+    public List<ValidatorViolation> getViolations(int index) {
+        checkIndex(index);
+        int i = Arrays.binarySearch(invalidIndices, index);
+        return i >= 0 ? violations.get(i) : emptyList();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    static final class Builder {
+
+        private final BitSet valid = new BitSet();
+
+        private int[] invalidIndices = new int[8];
+
+        private int invalidCount;
+
+        private final List<List<ValidatorViolation>> violations = new ArrayList<>();
+
+        private int size;
+
+        /**
+         * Records the result of the next record, keeping the violations list of the validator, which starts a new
+         * list after {@link Validator#reset(Object)}.
+         */
+        void add(Validator<?, ?> validator) {
+            int index = size++;
+            if (!validator.hasViolations()) {
+                valid.set(index);
+                return;
+            }
+            if (invalidCount == invalidIndices.length) {
+                invalidIndices = Arrays.copyOf(invalidIndices, invalidCount * 2);
+            }
+            invalidIndices[invalidCount++] = index;
+            violations.add(validator.getViolations());
+        }
+
+        /**
+         * Appends the results of the records that follow this builder's records.
+         */
+        void addAll(Builder other) {
+            for (int i = other.valid.nextSetBit(0); i >= 0; i = other.valid.nextSetBit(i + 1)) {
+                valid.set(size + i);
+            }
+            for (int i = 0; i < other.invalidCount; i++) {
+                if (invalidCount == invalidIndices.length) {
+                    invalidIndices = Arrays.copyOf(invalidIndices, invalidCount * 2);
+                }
+                invalidIndices[invalidCount++] = size + other.invalidIndices[i];
+            }
+            violations.addAll(other.violations);
+            size += other.size;
+        }
+
+        BatchResult build() {
+            return new BatchResult(size, valid, Arrays.copyOf(invalidIndices, invalidCount), violations);
+        }
+    }
+}
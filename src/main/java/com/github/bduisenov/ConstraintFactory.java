@@ -1,12 +1,60 @@
 package com.github.bduisenov;
 
 import java.util.List;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
 import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 
 public interface ConstraintFactory<T> {
 
     void addPredicate(Predicate<T> predicate, String message);
 
     void addFunction(Function<T, List<String>> validationFunction);
+
+    /**
+     * Adds a constraint on a primitive {@code int} attribute of the value, that is validated without boxing.
+     */
+    default void addIntPredicate(ToIntFunction<T> projection, IntPredicate predicate, String message) {
+        List<String> errors = singletonList(message);
+        addFunction(val -> predicate.test(projection.applyAsInt(val)) ? emptyList() : errors);
+    }
+
+    default void addIntFunction(ToIntFunction<T> projection, IntFunction<List<String>> validationFunction) {
+        addFunction(val -> validationFunction.apply(projection.applyAsInt(val)));
+    }
+
+    /**
+     * Adds a constraint on a primitive {@code long} attribute of the value, that is validated without boxing.
+     */
+    default void addLongPredicate(ToLongFunction<T> projection, LongPredicate predicate, String message) {
+        List<String> errors = singletonList(message);
+        addFunction(val -> predicate.test(projection.applyAsLong(val)) ? emptyList() : errors);
+    }
+
+    default void addLongFunction(ToLongFunction<T> projection, LongFunction<List<String>> validationFunction) {
+        addFunction(val -> validationFunction.apply(projection.applyAsLong(val)));
+    }
+
+    /**
+     * Adds a constraint on a primitive {@code double} attribute of the value, that is validated without boxing.
+     */
+    default void addDoublePredicate(ToDoubleFunction<T> projection, DoublePredicate predicate, String message) {
+        List<String> errors = singletonList(message);
+        addFunction(val -> predicate.test(projection.applyAsDouble(val)) ? emptyList() : errors);
+    }
+
+    default void addDoubleFunction(ToDoubleFunction<T> projection, DoubleFunction<List<String>> validationFunction) {
+        addFunction(val -> validationFunction.apply(projection.applyAsDouble(val)));
+    }
 }
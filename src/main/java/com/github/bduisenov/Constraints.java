@@ -0,0 +1,219 @@
+package com.github.bduisenov;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+/**
+ * Group of constraints collected through a {@link ConstraintFactory}. Constraints are evaluated in the order they were
+ * added and their errors are concatenated.
+ * <p>
+ * When only the first error is needed, see {@link #applyFirst(Object)}, a group that is evaluated repeatedly, e.g. by
+ * a {@link ValidatorSpec} or for the elements of a collection, learns an order of its constraints from sampled
+ * evaluations, so that constraints which are cheap and fail often are evaluated before expensive ones.
+ *
+ * @param <U> type of the validated value
+ */
+final class Constraints<U> implements Function<U, List<String>>, Predicate<U> {
+
+    private final List<Function<U, List<String>>> constraints;
+
+    /**
+     * Set by the first {@link #applyFirst(Object)}, which evaluates the constraints in the declared order.
+     */
+    private volatile boolean evaluated;
+
+    /**
+     * Created on the second {@link #applyFirst(Object)}, groups evaluated once or in full don't need it.
+     */
+    private volatile AdaptiveOrder adaptiveOrder;
+
+    private Constraints(List<Function<U, List<String>>> constraints) {
+        this.constraints = constraints;
+    }
+
+    static <U> Constraints<U> of(Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+        List<Function<U, List<String>>> constraints = new ArrayList<>();
+
+        constraintsFactoryConsumer.accept(new InternalConstraintFactory<>(constraints));
+
+        return new Constraints<>(constraints);
+    }
+
+    /**
+     * @return concatenated errors of all constraints, the shared empty list when {@code val} is valid
+     */
+    @Override
+    public List<String> apply(U val) {
+        List<String> errors = emptyList();
+        for (int i = 0; i < constraints.size(); i++) {
+            List<String> xs = constraints.get(i).apply(val);
+            if (!xs.isEmpty()) {
+                errors = errors.isEmpty() ? xs : MessageTemplate.concat(errors, xs);
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Short-circuit evaluation for validators with a {@link StopPolicy} of adaptive ordering: the constraints are
+     * evaluated in the learned order up to the first failed one. The first evaluation of a group, which is the only
+     * one for a group declared inline on a fluent validator, uses the declared order and is not sampled.
+     *
+     * @return errors of the first failed constraint, the shared empty list when {@code val} is valid
+     */
+    List<String> applyFirst(U val) {
+        if (constraints.size() < 2) {
+            return apply(val);
+        }
+        AdaptiveOrder order = adaptiveOrder;
+        if (order == null) {
+            if (!evaluated) {
+                evaluated = true;
+                return applyInDeclaredOrder(val);
+            }
+            order = adaptiveOrder = new AdaptiveOrder(constraints.size());
+        }
+        if (order.isSampled()) {
+            return sample(order, val);
+        }
+        for (int i : order.order) {
+            List<String> xs = constraints.get(i).apply(val);
+            if (!xs.isEmpty()) {
+                return xs;
+            }
+        }
+        return emptyList();
+    }
+
+    private List<String> applyInDeclaredOrder(U val) {
+        for (int i = 0; i < constraints.size(); i++) {
+            List<String> xs = constraints.get(i).apply(val);
+            if (!xs.isEmpty()) {
+                return xs;
+            }
+        }
+        return emptyList();
+    }
+
+    /**
+     * Evaluates every constraint in the current order to measure its running time and failure, the errors of the
+     * first failed one are returned.
+     */
+    private List<String> sample(AdaptiveOrder order, U val) {
+        List<String> errors = emptyList();
+        for (int i : order.order) {
+            long start = System.nanoTime();
+            List<String> xs = constraints.get(i).apply(val);
+            order.record(i, System.nanoTime() - start, !xs.isEmpty());
+            if (errors.isEmpty()) {
+                errors = xs;
+            }
+        }
+        order.completeSample();
+        return errors;
+    }
+
+    /**
+     * @return {@code true} when {@code val} satisfies every constraint, evaluated as {@link #applyFirst(Object)}
+     */
+    @Override
+    public boolean test(U val) {
+        return applyFirst(val).isEmpty();
+    }
+
+    /**
+     * Sampled running time and failure rate of every constraint of a group. A short-circuit evaluation is cheapest
+     * when constraints are sorted by their running time divided by their failure rate, the order is recomputed from
+     * the samples after every {@link #SAMPLES_PER_REORDER} samples.
+     * <p>
+     * The call counter is updated without synchronization, a lost update only shifts the next sample.
+     */
+    private static final class AdaptiveOrder {
+
+        private static final int SAMPLE_INTERVAL = 64;
+
+        private static final int SAMPLES_PER_REORDER = 16;
+
+        private final long[] nanos;
+
+        private final int[] failures;
+
+        private int samples;
+
+        private int calls;
+
+        /**
+         * Indices of the constraints in evaluation order, replaced as a whole.
+         */
+        private volatile int[] order;
+
+        private AdaptiveOrder(int size) {
+            this.nanos = new long[size];
+            this.failures = new int[size];
+            this.order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+        }
+
+        private boolean isSampled() {
+            return calls++ % SAMPLE_INTERVAL == 0;
+        }
+
+        private synchronized void record(int index, long sampleNanos, boolean failed) {
+            nanos[index] += sampleNanos;
+            if (failed) {
+                failures[index]++;
+            }
+        }
+
+        private synchronized void completeSample() {
+            if (++samples % SAMPLES_PER_REORDER == 0) {
+                order = reorder();
+            }
+        }
+
+        private int[] reorder() {
+            double[] costs = new double[nanos.length];
+            Integer[] indices = new Integer[nanos.length];
+            for (int i = 0; i < nanos.length; i++) {
+                double failureRate = (failures[i] + 1.0) / (samples + 2.0);
+                costs[i] = (nanos[i] / (double) samples) / failureRate;
+                indices[i] = i;
+            }
+            Arrays.sort(indices, Comparator.comparingDouble(i -> costs[i]));
+            int[] result = new int[indices.length];
+            for (int i = 0; i < indices.length; i++) {
+                result[i] = indices[i];
+            }
+            return result;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class InternalConstraintFactory<U> implements ConstraintFactory<U> {
+
+        private final List<Function<U, List<String>>> constraints;
+
+        @Override
+        public void addPredicate(Predicate<U> predicate, String message) {
+            List<String> errors = singletonList(message);
+            constraints.add(val -> predicate.test(val) ? emptyList() : errors);
+        }
+
+        @Override
+        public void addFunction(Function<U, List<String>> validationFunction) {
+            constraints.add(validationFunction);
+        }
+    }
+}
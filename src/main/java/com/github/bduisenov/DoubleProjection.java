@@ -0,0 +1,7 @@
+package com.github.bduisenov;
+
+import java.io.Serializable;
+import java.util.function.ToDoubleFunction;
+
+public interface DoubleProjection<T> extends ToDoubleFunction<T>, Serializable, LambdaMethodReferenceReflection {
+}
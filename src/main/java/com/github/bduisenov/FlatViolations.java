@@ -0,0 +1,488 @@
+package com.github.bduisenov;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Compact form of violations: a flat sequence of {@code (path, message)} entries, one per error message.
+ * <p>
+ * A path joins the field names of the nested violations with dots. An element of a collection is addressed by its
+ * index, the value of a map entry by its quoted key and the key of a map entry by its quoted key in braces:
+ * <pre>
+ * order.items[3].sku
+ * order.attributes['color']
+ * order.attributes{'color'}
+ * </pre>
+ * A backslash escapes {@code .}, {@code [}, <code>{</code> and {@code \} in field names, and {@code '} and {@code \}
+ * in map keys.
+ * <p>
+ * {@link #toTree()} and {@link #fromTree(List)} convert between the two forms, the conversion keeps the messages, their
+ * paths and the boundaries of the violations but not every detail of the tree:
+ * <ul>
+ * <li>map keys are restored as strings,</li>
+ * <li>violations without error messages, e.g. with an empty list of errors, are dropped.</li>
+ * </ul>
+ */
+public final class FlatViolations {
+
+    private static final FlatViolations EMPTY = new FlatViolations(new String[0], MessageTemplate.newErrorsArray(0), new int[0], new int[0]);
+
+    /**
+     * Start of an entry that continues the violation of the previous entry.
+     */
+    private static final int CONTINUED = Integer.MAX_VALUE;
+
+    private final String[] paths;
+
+    /**
+     * The message of the entry {@code i} is {@code errors[i].get(indexes[i])}, messages of templates are rendered when
+     * they are read, see {@link MessageTemplate#errors(Object...)}.
+     */
+    private final List<String>[] errors;
+
+    private final int[] indexes;
+
+    /**
+     * Depth of the outermost violation that starts with the entry {@code i}, or {@link #CONTINUED}, so that consecutive
+     * violations with the same path are restored as separate violations.
+     */
+    private final int[] starts;
+
+    /**
+     * Tree form, built on the first call of {@link #toTree()}.
+     */
+    private volatile List<ValidatorViolation> tree;
+
+    private FlatViolations(String[] paths, List<String>[] errors, int[] indexes, int[] starts) {
+        this.paths = paths;
+        this.errors = errors;
+        this.indexes = indexes;
+        this.starts = starts;
+    }
+
+    public static FlatViolations empty() {
+        return EMPTY;
+    }
+
+    public static FlatViolations fromTree(List<ValidatorViolation> violations) {
+        if (violations.isEmpty()) {
+            return EMPTY;
+        }
+        Builder builder = new Builder();
+        for (ValidatorViolation violation : violations) {
+            builder.add(violation);
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return paths.length;
+    }
+
+    public boolean isEmpty() {
+        return paths.length == 0;
+    }
+
+    public String getPath(int index) {
+        return paths[index];
+    }
+
+    public String getMessage(int index) {
+        return errors[index].get(indexes[index]);
+    }
+
+    /**
+     * @return messages grouped by path, in the order of the first occurrence of every path
+     */
+    public Map<String, List<String>> toMap() {
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        for (int i = 0; i < paths.length; i++) {
+            result.computeIfAbsent(paths[i], path -> new ArrayList<>(1)).add(getMessage(i));
+        }
+        return result;
+    }
+
+    /**
+     * @return violations in the tree form returned by {@link Validator#getViolations()}, built once
+     */
+    public List<ValidatorViolation> toTree() {
+        List<ValidatorViolation> result = tree;
+        if (result == null) {
+            result = tree = buildTree();
+        }
+        return result;
+    }
+
+    private List<ValidatorViolation> buildTree() {
+        if (paths.length == 0) {
+            return emptyList();
+        }
+        List<Entry> entries = new ArrayList<>(paths.length);
+        for (int i = 0; i < paths.length; i++) {
+            List<String> message = errors[i].size() == 1 ? errors[i] : errors[i].subList(indexes[i], indexes[i] + 1);
+            entries.add(new Entry(Segment.parse(paths[i]), message, starts[i]));
+        }
+        return unmodifiableList(toTree(entries, 0));
+    }
+
+    private static List<ValidatorViolation> toTree(List<Entry> entries, int depth) {
+        List<ValidatorViolation> violations = new ArrayList<>();
+        int from = 0;
+        while (from < entries.size()) {
+            Segment segment = entries.get(from).segments.get(depth);
+            int to = from + 1;
+            while (to < entries.size() && entries.get(to).start > depth
+                    && segment.isSameElement(entries.get(to).segments.get(depth))) {
+                to++;
+            }
+            violations.add(toViolation(segment, entries.subList(from, to), depth));
+            from = to;
+        }
+        return violations;
+    }
+
+    private static ValidatorViolation toViolation(Segment segment, List<Entry> entries, int depth) {
+        List<String> errors = null;
+        List<String> keyErrors = null;
+        List<Entry> nested = null;
+        for (Entry entry : entries) {
+            if (entry.segments.size() > depth + 1) {
+                nested = append(nested, entry);
+            } else if (entry.segments.get(depth).kind == Kind.KEY) {
+                keyErrors = concat(keyErrors, entry.message);
+            } else {
+                errors = concat(errors, entry.message);
+            }
+        }
+        List<ValidatorViolation> violations = nested != null ? toTree(nested, depth + 1) : null;
+        switch (segment.kind) {
+            case INDEX:
+                return new ValidatorCollectionViolation(segment.name, segment.index, errors, violations);
+            case KEY:
+            case VALUE:
+                return new ValidatorMapViolation(segment.name, segment.key, keyErrors, errors);
+            default:
+                return new ValidatorViolation(segment.name, errors, violations);
+        }
+    }
+
+    /**
+     * Keeps the messages of templates unrendered, see {@link MessageTemplate#errors(Object...)}.
+     */
+    private static List<String> concat(List<String> errors, List<String> message) {
+        return errors == null ? message : MessageTemplate.concat(errors, message);
+    }
+
+    private static <E> List<E> append(List<E> xs, E x) {
+        if (xs == null) {
+            xs = new ArrayList<>();
+        }
+        xs.add(x);
+        return xs;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FlatViolations)) {
+            return false;
+        }
+        FlatViolations other = (FlatViolations) o;
+        if (!Arrays.equals(paths, other.paths) || !Arrays.equals(starts, other.starts)) {
+            return false;
+        }
+        for (int i = 0; i < paths.length; i++) {
+            if (!getMessage(i).equals(other.getMessage(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(paths);
+        for (int i = 0; i < paths.length; i++) {
+            result = 31 * result + getMessage(i).hashCode();
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("FlatViolations(");
+        for (int i = 0; i < paths.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(paths[i]).append(": ").append(getMessage(i));
+        }
+        return sb.append(')').toString();
+    }
+
+    /**
+     * Appends the entries of violations as they are added to a {@link Validator}.
+     */
+    static final class Builder {
+
+        private String[] paths = new String[8];
+
+        private List<String>[] errors = MessageTemplate.newErrorsArray(8);
+
+        private int[] indexes = new int[8];
+
+        private int[] starts = new int[8];
+
+        private int size;
+
+        /**
+         * Depth of the outermost violation flattened since the last added entry.
+         */
+        private int start = CONTINUED;
+
+        private int violationCount;
+
+        /**
+         * Result of the last {@link #build()}, until an entry is added.
+         */
+        private FlatViolations built;
+
+        /**
+         * @return number of added top level violations
+         */
+        int violationCount() {
+            return violationCount;
+        }
+
+        void add(ValidatorViolation violation) {
+            violationCount++;
+            flatten("", 0, violation);
+        }
+
+        /**
+         * Adds the violations of a nested value without wrapping them into a violation of the {@code fieldName}.
+         */
+        void addNested(String fieldName, List<ValidatorViolation> violations) {
+            violationCount++;
+            start = 0;
+            String prefix = escape(fieldName) + '.';
+            for (ValidatorViolation violation : violations) {
+                flatten(prefix, 1, violation);
+            }
+        }
+
+        void addNested(String fieldName, Builder nested) {
+            violationCount++;
+            start = 0;
+            String prefix = escape(fieldName) + '.';
+            for (int i = 0; i < nested.size; i++) {
+                if (nested.starts[i] != CONTINUED) {
+                    start = Math.min(start, nested.starts[i] + 1);
+                }
+                add(prefix + nested.paths[i], nested.errors[i], nested.indexes[i]);
+            }
+        }
+
+        FlatViolations build() {
+            if (built == null) {
+                built = size == 0 ? EMPTY
+                        : new FlatViolations(Arrays.copyOf(paths, size), Arrays.copyOf(errors, size), Arrays.copyOf(indexes, size),
+                        Arrays.copyOf(starts, size));
+            }
+            return built;
+        }
+
+        private void flatten(String prefix, int depth, ValidatorViolation violation) {
+            start = Math.min(start, depth);
+            if (violation instanceof ValidatorMapViolation) {
+                ValidatorMapViolation entry = (ValidatorMapViolation) violation;
+                String field = prefix + escape(entry.getFieldName());
+                String key = quote(entry.getKey());
+                addAll(field + '{' + key + '}', entry.getKeyErrors());
+                addAll(field + '[' + key + ']', entry.getErrors());
+                return;
+            }
+            String path = violation instanceof ValidatorCollectionViolation
+                    ? prefix + escape(violation.getFieldName()) + '[' + ((ValidatorCollectionViolation) violation).getIdx() + ']'
+                    : prefix + escape(violation.getFieldName());
+            addAll(path, violation.getErrors());
+            if (violation.getViolations() != null) {
+                String nestedPrefix = path + '.';
+                for (ValidatorViolation nested : violation.getViolations()) {
+                    flatten(nestedPrefix, depth + 1, nested);
+                }
+            }
+        }
+
+        private void addAll(String path, List<String> errors) {
+            if (errors != null) {
+                for (List<String> part : MessageTemplate.parts(errors)) {
+                    for (int i = 0; i < part.size(); i++) {
+                        add(path, part, i);
+                    }
+                }
+            }
+        }
+
+        private void add(String path, List<String> errors, int index) {
+            if (size == paths.length) {
+                paths = Arrays.copyOf(paths, size * 2);
+                this.errors = Arrays.copyOf(this.errors, size * 2);
+                indexes = Arrays.copyOf(indexes, size * 2);
+                starts = Arrays.copyOf(starts, size * 2);
+            }
+            paths[size] = path;
+            this.errors[size] = errors;
+            indexes[size] = index;
+            starts[size] = start;
+            start = CONTINUED;
+            size++;
+            built = null;
+        }
+
+        private static String escape(String fieldName) {
+            if (fieldName == null) {
+                return "null";
+            }
+            StringBuilder sb = null;
+            for (int i = 0; i < fieldName.length(); i++) {
+                char c = fieldName.charAt(i);
+                if (Segment.isSeparator(c) || c == '\\') {
+                    if (sb == null) {
+                        sb = new StringBuilder(fieldName.length() + 4).append(fieldName, 0, i);
+                    }
+                    sb.append('\\');
+                }
+                if (sb != null) {
+                    sb.append(c);
+                }
+            }
+            return sb != null ? sb.toString() : fieldName;
+        }
+
+        private static String quote(Object key) {
+            String s = String.valueOf(key);
+            StringBuilder sb = new StringBuilder(s.length() + 2).append('\'');
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c == '\'' || c == '\\') {
+                    sb.append('\\');
+                }
+                sb.append(c);
+            }
+            return sb.append('\'').toString();
+        }
+    }
+
+    private enum Kind {
+        FIELD, INDEX, KEY, VALUE
+    }
+
+    private static final class Entry {
+
+        private final List<Segment> segments;
+
+        /**
+         * Single message of the entry.
+         */
+        private final List<String> message;
+
+        private final int start;
+
+        private Entry(List<Segment> segments, List<String> message, int start) {
+            this.segments = segments;
+            this.message = message;
+            this.start = start;
+        }
+    }
+
+    private static final class Segment {
+
+        private final String name;
+
+        private final Kind kind;
+
+        private final int index;
+
+        private final String key;
+
+        private Segment(String name, Kind kind, int index, String key) {
+            this.name = name;
+            this.kind = kind;
+            this.index = index;
+            this.key = key;
+        }
+
+        /**
+         * Key and value errors of a map entry belong to the same element.
+         */
+        private boolean isSameElement(Segment other) {
+            if (!name.equals(other.name)) {
+                return false;
+            }
+            switch (kind) {
+                case INDEX:
+                    return other.kind == Kind.INDEX && index == other.index;
+                case KEY:
+                case VALUE:
+                    return (other.kind == Kind.KEY || other.kind == Kind.VALUE) && key.equals(other.key);
+                default:
+                    return other.kind == Kind.FIELD;
+            }
+        }
+
+        private static boolean isSeparator(char c) {
+            return c == '.' || c == '[' || c == '{';
+        }
+
+        /**
+         * Every field name is a segment, including empty ones, e.g. {@code ""} and {@code "a."}.
+         */
+        private static List<Segment> parse(String path) {
+            List<Segment> segments = new ArrayList<>(4);
+            int i = 0;
+            while (true) {
+                StringBuilder unescaped = new StringBuilder();
+                while (i < path.length() && !isSeparator(path.charAt(i))) {
+                    if (path.charAt(i) == '\\') {
+                        i++;
+                    }
+                    unescaped.append(path.charAt(i));
+                    i++;
+                }
+                String name = unescaped.toString();
+                if (i == path.length() || path.charAt(i) == '.') {
+                    segments.add(new Segment(name, Kind.FIELD, -1, null));
+                } else if (path.charAt(i) == '[' && path.charAt(i + 1) != '\'') {
+                    int end = path.indexOf(']', i);
+                    segments.add(new Segment(name, Kind.INDEX, Integer.parseInt(path.substring(i + 1, end)), null));
+                    i = end + 1;
+                } else {
+                    Kind kind = path.charAt(i) == '{' ? Kind.KEY : Kind.VALUE;
+                    StringBuilder key = new StringBuilder();
+                    i += 2;
+                    for (; path.charAt(i) != '\''; i++) {
+                        if (path.charAt(i) == '\\') {
+                            i++;
+                        }
+                        key.append(path.charAt(i));
+                    }
+                    segments.add(new Segment(name, kind, -1, key.toString()));
+                    i += 2;
+                }
+                if (i >= path.length()) {
+                    return segments;
+                }
+                i++;
+            }
+        }
+    }
+}
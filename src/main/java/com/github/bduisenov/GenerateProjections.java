@@ -0,0 +1,27 @@
+package com.github.bduisenov;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requests a {@code <Type>Projections} class with a {@link NamedProjection} constant for every getter of the annotated
+ * type. It is generated by the annotation processor of the {@code validator-processor} artifact:
+ * <pre>{@code
+ * @GenerateProjections
+ * public class User {
+ *     public String getName() { ... }
+ * }
+ *
+ * Validator.of(user)
+ *     .validate(UserProjections.NAME, Objects::nonNull, "Name must not be null");
+ * }</pre>
+ * Without the processor on the compiler's path the annotation has no effect.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface GenerateProjections {
+}
@@ -0,0 +1,90 @@
+package com.github.bduisenov;
+
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Result of {@link ValidatorSpec#validateIncrementally(Object)} that keeps the violations of every rule apart, so that
+ * after a change of the value only the rules reading the changed fields are evaluated again.
+ * <p>
+ * Fields are named as in violations, i.e. by the resolved {@link Projection} names. A changed path like
+ * {@code address.city} or {@code items[2]} affects the rules of its first field, {@code address} and {@code items}.
+ * Rules that read the whole value, such as {@code validate(fieldName, predicate, message)} or {@code validateWhen}
+ * with a predicate of the value, are evaluated on every revalidation. So are rules declared with a field name and a
+ * plain function, e.g. {@code validate("total", o -> o.getPrice() * o.getQty(), ...)}, since the fields the function
+ * reads are unknown.
+ *
+ * @param <T> type of the validated value
+ */
+public final class IncrementalResult<T> {
+
+    private final ValidatorSpec<T> spec;
+
+    private final T value;
+
+    /**
+     * Violations added by every step of the spec.
+     */
+    private final List<ValidatorViolation>[] slices;
+
+    private List<ValidatorViolation> violations;
+
+    IncrementalResult(ValidatorSpec<T> spec, T value, List<ValidatorViolation>[] slices) {
+        this.spec = spec;
+        this.value = value;
+        this.slices = slices;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * @return violations in the order of the rules, the same as {@link ValidatorSpec#apply(Object)} returns
+     */
+    public List<ValidatorViolation> getViolations() {
+        if (violations == null) {
+            List<ValidatorViolation> result = new ArrayList<>();
+            for (List<ValidatorViolation> slice : slices) {
+                result.addAll(slice);
+            }
+            violations = result.isEmpty() ? emptyList() : result;
+        }
+        return violations;
+    }
+
+    public boolean isValid() {
+        for (List<ValidatorViolation> slice : slices) {
+            if (!slice.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public ValidationResult<T> toResult() {
+        return isValid() ? ValidationResult.valid(value) : ValidationResult.invalid(getViolations());
+    }
+
+    /**
+     * @param value         changed value, may be the same instance as the previous one
+     * @param changedFields paths of the changed fields
+     * @return result with the violations of the affected rules replaced, this result is not changed
+     */
+    public IncrementalResult<T> revalidate(@NonNull T value, @NonNull Collection<String> changedFields) {
+        return spec.revalidate(value, slices, changedFields);
+    }
+
+    /**
+     * @see #revalidate(Object, Collection)
+     */
+    public IncrementalResult<T> revalidate(@NonNull T value, @NonNull String... changedFields) {
+        return revalidate(value, Arrays.asList(changedFields));
+    }
+}
@@ -0,0 +1,7 @@
+package com.github.bduisenov;
+
+import java.io.Serializable;
+import java.util.function.ToIntFunction;
+
+public interface IntProjection<T> extends ToIntFunction<T>, Serializable, LambdaMethodReferenceReflection {
+}
@@ -1,9 +1,7 @@
 package com.github.bduisenov;
 
-import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.SerializedLambda;
-import java.lang.reflect.Method;
 
 public interface LambdaMethodReferenceReflection {
 
@@ -11,17 +9,26 @@ public interface LambdaMethodReferenceReflection {
 
     default SerializedLambda serialized() {
         try {
-            Method replaceMethod = getClass().getDeclaredMethod("writeReplace");
-            replaceMethod.setAccessible(true);
-            MethodHandle mh = lookup.unreflect(replaceMethod);
-            return (SerializedLambda) mh.invokeWithArguments(this);
+            return (SerializedLambda) ProjectionNameCache.writeReplace(getClass()).invoke(this);
         } catch (Throwable e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * @return name of the referenced field, resolved once per method reference
+     * @see ProjectionNameCache
+     */
     default String getName() {
-        return normalize(serialized().getImplMethodName());
+        return ProjectionNameCache.getName(this);
+    }
+
+    /**
+     * @return key of the referenced getter, equal for all references to the same getter, {@code null} when the
+     * reference captures arguments and its result can't be shared with other references
+     */
+    default String getAccessor() {
+        return ProjectionNameCache.getAccessor(this);
     }
 
     default String normalize(String val) {
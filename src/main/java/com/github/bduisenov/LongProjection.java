@@ -0,0 +1,7 @@
+package com.github.bduisenov;
+
+import java.io.Serializable;
+import java.util.function.ToLongFunction;
+
+public interface LongProjection<T> extends ToLongFunction<T>, Serializable, LambdaMethodReferenceReflection {
+}
@@ -0,0 +1,312 @@
+package com.github.bduisenov;
+
+import lombok.NonNull;
+
+import java.text.DateFormat;
+import java.text.NumberFormat;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Error message with parameters, e.g. {@code "size must be between {min} and {max}"}, that is rendered only when it is
+ * read.
+ * <p>
+ * {@link #errors(Object...)} captures the arguments of a failed constraint in a list of a single message, the message
+ * is rendered on the first access to the element, so violations that are never inspected are never formatted.
+ * Arguments are bound to the named parameters in the order of their first occurrence, a numeric parameter like
+ * {@code {0}} refers to the argument at its index. Numbers and dates are formatted for the locale as
+ * {@link java.text.MessageFormat} formats them, other arguments with {@link String#valueOf(Object)}.
+ * <p>
+ * A template created with a key is looked up in the {@code ValidationMessages} resource bundle of the locale, the
+ * default template is used when the bundle or the key is missing. Templates are parsed once per locale.
+ */
+public final class MessageTemplate {
+
+    private static final String BUNDLE_NAME = "ValidationMessages";
+
+    /**
+     * A locale without a bundle gets the default template rather than the bundle of the default locale.
+     */
+    private static final ResourceBundle.Control NO_FALLBACK =
+            ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_DEFAULT);
+
+    private final String key;
+
+    private final String template;
+
+    private final ConcurrentMap<Locale, Parsed> parsed = new ConcurrentHashMap<>(4);
+
+    private MessageTemplate(String key, String template) {
+        this.key = key;
+        this.template = template;
+    }
+
+    public static MessageTemplate of(@NonNull String template) {
+        return new MessageTemplate(null, template);
+    }
+
+    /**
+     * @param key             key of the template in the {@code ValidationMessages} bundle
+     * @param defaultTemplate template used when the bundle of a locale doesn't define the key
+     */
+    public static MessageTemplate of(@NonNull String key, @NonNull String defaultTemplate) {
+        return new MessageTemplate(key, defaultTemplate);
+    }
+
+    /**
+     * @return errors of a failed constraint, the message is rendered for the default format locale when it is read
+     */
+    public List<String> errors(Object... args) {
+        return new Errors(this, args);
+    }
+
+    public String render(Object... args) {
+        return render(Locale.getDefault(Locale.Category.FORMAT), args);
+    }
+
+    public String render(@NonNull Locale locale, Object... args) {
+        return parsed.computeIfAbsent(locale, this::parse).render(args);
+    }
+
+    /**
+     * Renders the messages of {@link #errors(Object...)} for the {@code locale}, also when they are combined with the
+     * errors of other constraints, e.g. in a constraint group. Other messages are not changed.
+     *
+     * @param errors errors of a violation
+     * @param locale
+     * @return rendered messages
+     */
+    public static List<String> localize(@NonNull List<String> errors, @NonNull Locale locale) {
+        if (errors instanceof Errors) {
+            Errors lazy = (Errors) errors;
+            List<String> result = new ArrayList<>(1);
+            result.add(lazy.template.render(locale, lazy.args));
+            return result;
+        }
+        if (errors instanceof Concat) {
+            List<String> result = new ArrayList<>(errors.size());
+            for (List<String> part : ((Concat) errors).parts) {
+                result.addAll(localize(part, locale));
+            }
+            return result;
+        }
+        return errors;
+    }
+
+    /**
+     * @return errors of both lists, messages of templates are rendered when they are read
+     */
+    static List<String> concat(List<String> first, List<String> second) {
+        List<String>[] xs = parts(first);
+        List<String>[] ys = parts(second);
+        List<String>[] parts = Arrays.copyOf(xs, xs.length + ys.length);
+        System.arraycopy(ys, 0, parts, xs.length, ys.length);
+        return new Concat(parts);
+    }
+
+    /**
+     * @return lists concatenated into the {@code errors}, the {@code errors} itself when it is not a concatenation
+     */
+    static List<String>[] parts(List<String> errors) {
+        if (errors instanceof Concat) {
+            return ((Concat) errors).parts;
+        }
+        List<String>[] parts = newErrorsArray(1);
+        parts[0] = errors;
+        return parts;
+    }
+
+    /**
+     * Arrays of lists of errors can't be created without an unchecked cast, they are created here only.
+     */
+    @SuppressWarnings("unchecked")
+    static List<String>[] newErrorsArray(int length) {
+        return (List<String>[]) new List<?>[length];
+    }
+
+    private Parsed parse(Locale locale) {
+        return new Parsed(lookup(locale), locale);
+    }
+
+    private String lookup(Locale locale) {
+        if (key == null) {
+            return template;
+        }
+        try {
+            ResourceBundle bundle = ResourceBundle.getBundle(BUNDLE_NAME, locale, NO_FALLBACK);
+            return bundle.containsKey(key) ? bundle.getString(key) : template;
+        } catch (MissingResourceException e) {
+            return template;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return key != null ? key + "=" + template : template;
+    }
+
+    /**
+     * Template split into literal parts and parameters for one locale: {@code parts[i]} is followed by the argument
+     * {@code params[i]}, the last part by nothing.
+     */
+    private static final class Parsed {
+
+        private final String[] parts;
+
+        private final int[] params;
+
+        /**
+         * Parameters as written in the template, rendered for missing arguments.
+         */
+        private final String[] placeholders;
+
+        /**
+         * Formats are not thread safe, these are never used directly, every render uses its own clones.
+         */
+        private final NumberFormat numberFormat;
+
+        private final DateFormat dateFormat;
+
+        private Parsed(String template, Locale locale) {
+            this.numberFormat = NumberFormat.getInstance(locale);
+            this.dateFormat = DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale);
+            List<String> parts = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            List<Integer> params = new ArrayList<>();
+            List<String> placeholders = new ArrayList<>();
+            int from = 0;
+            int open;
+            while ((open = template.indexOf('{', from)) >= 0) {
+                int close = template.indexOf('}', open);
+                if (close < 0) {
+                    break;
+                }
+                String name = template.substring(open + 1, close);
+                parts.add(template.substring(from, open));
+                params.add(index(name, names));
+                placeholders.add(template.substring(open, close + 1));
+                from = close + 1;
+            }
+            parts.add(template.substring(from));
+            this.parts = parts.toArray(new String[0]);
+            this.params = params.stream().mapToInt(Integer::intValue).toArray();
+            this.placeholders = placeholders.toArray(new String[0]);
+        }
+
+        private static int index(String name, List<String> names) {
+            if (!name.isEmpty() && name.chars().allMatch(Character::isDigit)) {
+                return Integer.parseInt(name);
+            }
+            int index = names.indexOf(name);
+            if (index < 0) {
+                names.add(name);
+                index = names.size() - 1;
+            }
+            return index;
+        }
+
+        private String render(Object[] args) {
+            StringBuilder sb = new StringBuilder(64);
+            NumberFormat numbers = null;
+            DateFormat dates = null;
+            for (int i = 0; i < params.length; i++) {
+                sb.append(parts[i]);
+                int param = params[i];
+                if (param >= args.length) {
+                    sb.append(placeholders[i]);
+                } else if (args[param] instanceof Number) {
+                    if (numbers == null) {
+                        numbers = (NumberFormat) numberFormat.clone();
+                    }
+                    sb.append(numbers.format(args[param]));
+                } else if (args[param] instanceof Date) {
+                    if (dates == null) {
+                        dates = (DateFormat) dateFormat.clone();
+                    }
+                    sb.append(dates.format(args[param]));
+                } else {
+                    sb.append(args[param]);
+                }
+            }
+            return sb.append(parts[parts.length - 1]).toString();
+        }
+    }
+
+    /**
+     * Errors of several constraints, read from the concatenated lists on every access.
+     */
+    private static final class Concat extends AbstractList<String> {
+
+        private final List<String>[] parts;
+
+        private final int size;
+
+        private Concat(List<String>[] parts) {
+            this.parts = parts;
+            int size = 0;
+            for (List<String> part : parts) {
+                size += part.size();
+            }
+            this.size = size;
+        }
+
+        @Override
+        public String get(int index) {
+            int i = index;
+            for (List<String> part : parts) {
+                if (i < part.size()) {
+                    return part.get(i);
+                }
+                i -= part.size();
+            }
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Single message of a template with captured arguments, rendered on the first access.
+     */
+    private static final class Errors extends AbstractList<String> {
+
+        private final MessageTemplate template;
+
+        private final Object[] args;
+
+        private volatile String message;
+
+        private Errors(MessageTemplate template, Object[] args) {
+            this.template = template;
+            this.args = args;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index != 0) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: 1");
+            }
+            String result = message;
+            if (result == null) {
+                result = message = template.render(args);
+            }
+            return result;
+        }
+
+        @Override
+        public int size() {
+            return 1;
+        }
+    }
+}
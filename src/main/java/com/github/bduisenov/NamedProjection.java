@@ -0,0 +1,272 @@
+package com.github.bduisenov;
+
+import lombok.NonNull;
+
+import java.io.InvalidObjectException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * {@link Projection} with a field name known in advance, so the name is not resolved from the serialized form of a
+ * method reference. Constants of this type are generated for classes annotated with {@link GenerateProjections}.
+ * <p>
+ * The getter may be a lambda, so {@link #getAccessor()} is {@code null}: with {@link Validator#withProjectionCache()}
+ * the value is cached per projection instance rather than per getter.
+ * <p>
+ * The getter is not serialized: a deserialized projection reads the field through the public getter of the type whose
+ * name the field name was resolved from, e.g. {@code getName()} or {@code isActive()}.
+ *
+ * @param <T> type of the validated value
+ * @param <R> type of the field
+ */
+public final class NamedProjection<T, R> implements Projection<T, R> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Class<T> type;
+
+    private final String name;
+
+    private final transient Function<T, R> getter;
+
+    private NamedProjection(Class<T> type, String name, Function<T, R> getter) {
+        this.type = type;
+        this.name = name;
+        this.getter = getter;
+    }
+
+    /**
+     * @param type   declaring type of the field
+     * @param name   name of the field reported in violations
+     * @param getter reads the field, may be a plain lambda
+     */
+    public static <T, R> NamedProjection<T, R> of(@NonNull Class<T> type, @NonNull String name, @NonNull Function<T, R> getter) {
+        return new NamedProjection<>(type, name, getter);
+    }
+
+    /**
+     * @see #of(Class, String, Function)
+     */
+    public static <T> IntProjection<T> ofInt(@NonNull Class<T> type, @NonNull String name, @NonNull ToIntFunction<T> getter) {
+        return new NamedIntProjection<>(type, name, getter);
+    }
+
+    /**
+     * @see #of(Class, String, Function)
+     */
+    public static <T> LongProjection<T> ofLong(@NonNull Class<T> type, @NonNull String name, @NonNull ToLongFunction<T> getter) {
+        return new NamedLongProjection<>(type, name, getter);
+    }
+
+    /**
+     * @see #of(Class, String, Function)
+     */
+    public static <T> DoubleProjection<T> ofDouble(@NonNull Class<T> type, @NonNull String name, @NonNull ToDoubleFunction<T> getter) {
+        return new NamedDoubleProjection<>(type, name, getter);
+    }
+
+    @Override
+    public R apply(T value) {
+        return getter.apply(value);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getAccessor() {
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "NamedProjection(" + accessor(type, name) + ")";
+    }
+
+    /**
+     * @return {@code true} for the projections created by this class, see {@link #getAccessor()}
+     */
+    static boolean isNamed(Object projection) {
+        return projection instanceof NamedProjection || projection instanceof NamedIntProjection
+                || projection instanceof NamedLongProjection || projection instanceof NamedDoubleProjection;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readResolve() throws InvalidObjectException {
+        Method method = getter(type, name);
+        return new NamedProjection<>(type, name, value -> (R) invoke(method, value));
+    }
+
+    private static String accessor(Class<?> type, String name) {
+        return type.getName() + "::" + name;
+    }
+
+    /**
+     * @return public getter of the {@code type} whose field name is the {@code name}, see
+     * {@link LambdaMethodReferenceReflection#normalize(String)}
+     */
+    private static Method getter(Class<?> type, String name) throws InvalidObjectException {
+        String[] methodNames = name.isEmpty()
+                ? new String[0]
+                : new String[]{"get" + Character.toUpperCase(name.charAt(0)) + name.substring(1), name};
+        for (String methodName : methodNames) {
+            try {
+                Method method = type.getMethod(methodName);
+                method.setAccessible(true);
+                return method;
+            } catch (NoSuchMethodException e) {
+                // try the next name
+            }
+        }
+        throw new InvalidObjectException("No getter of the field " + name + " in " + type.getName());
+    }
+
+    private static Object invoke(Method getter, Object value) {
+        try {
+            return getter.invoke(value);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class NamedIntProjection<T> implements IntProjection<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Class<T> type;
+
+        private final String name;
+
+        private final transient ToIntFunction<T> getter;
+
+        private NamedIntProjection(Class<T> type, String name, ToIntFunction<T> getter) {
+            this.type = type;
+            this.name = name;
+            this.getter = getter;
+        }
+
+        @Override
+        public int applyAsInt(T value) {
+            return getter.applyAsInt(value);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getAccessor() {
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return "NamedProjection(" + accessor(type, name) + ")";
+        }
+
+        private Object readResolve() throws InvalidObjectException {
+            Method method = getter(type, name);
+            return new NamedIntProjection<>(type, name, value -> ((Number) invoke(method, value)).intValue());
+        }
+    }
+
+    private static final class NamedLongProjection<T> implements LongProjection<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Class<T> type;
+
+        private final String name;
+
+        private final transient ToLongFunction<T> getter;
+
+        private NamedLongProjection(Class<T> type, String name, ToLongFunction<T> getter) {
+            this.type = type;
+            this.name = name;
+            this.getter = getter;
+        }
+
+        @Override
+        public long applyAsLong(T value) {
+            return getter.applyAsLong(value);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getAccessor() {
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return "NamedProjection(" + accessor(type, name) + ")";
+        }
+
+        private Object readResolve() throws InvalidObjectException {
+            Method method = getter(type, name);
+            return new NamedLongProjection<>(type, name, value -> ((Number) invoke(method, value)).longValue());
+        }
+    }
+
+    private static final class NamedDoubleProjection<T> implements DoubleProjection<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Class<T> type;
+
+        private final String name;
+
+        private final transient ToDoubleFunction<T> getter;
+
+        private NamedDoubleProjection(Class<T> type, String name, ToDoubleFunction<T> getter) {
+            this.type = type;
+            this.name = name;
+            this.getter = getter;
+        }
+
+        @Override
+        public double applyAsDouble(T value) {
+            return getter.applyAsDouble(value);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getAccessor() {
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return "NamedProjection(" + accessor(type, name) + ")";
+        }
+
+        private Object readResolve() throws InvalidObjectException {
+            Method method = getter(type, name);
+            return new NamedDoubleProjection<>(type, name, value -> ((Number) invoke(method, value)).doubleValue());
+        }
+    }
+}
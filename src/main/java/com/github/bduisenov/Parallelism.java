@@ -0,0 +1,76 @@
+package com.github.bduisenov;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Defines how {@link Validator#validateList} and {@link Validator#validateMap} split large collections into chunks
+ * that are validated concurrently. Violations are merged back in index order, so the result is the same as for
+ * sequential validation.
+ * <p>
+ * Collections smaller than the {@code threshold} and lists without {@link RandomAccess} are validated sequentially.
+ */
+@Getter
+@ToString
+public final class Parallelism {
+
+    static final int DEFAULT_THRESHOLD = 8192;
+
+    static final int DEFAULT_CHUNK_SIZE = 2048;
+
+    private final Executor executor;
+
+    private final int threshold;
+
+    private final int chunkSize;
+
+    private Parallelism(Executor executor, int threshold, int chunkSize) {
+        this.executor = executor;
+        this.threshold = threshold;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Validates chunks in the {@link ForkJoinPool#commonPool()}.
+     */
+    public static Parallelism forkJoin() {
+        return executor(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Validates chunks in the provided {@code executor}.
+     */
+    public static Parallelism executor(@NonNull Executor executor) {
+        return new Parallelism(executor, DEFAULT_THRESHOLD, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param threshold minimal size of a collection that is validated in parallel
+     */
+    public Parallelism withThreshold(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive");
+        }
+        return new Parallelism(executor, threshold, chunkSize);
+    }
+
+    /**
+     * @param chunkSize number of elements validated by a single task
+     */
+    public Parallelism withChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        return new Parallelism(executor, threshold, chunkSize);
+    }
+
+    boolean isApplicable(List<?> xs) {
+        return xs.size() >= threshold && xs instanceof RandomAccess;
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.bduisenov;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-class cache of the field names resolved from {@link Projection} and {@link ProjectionOpt} method references.
+ * <p>
+ * The jvm spins a dedicated synthetic class for every method reference call site, so the class of the reference
+ * identifies its implementation method and is used as the cache key. Once a name is cached, a lookup is a single
+ * {@link ClassValue#get} without any reflection or allocation.
+ * <p>
+ * Names are attached to the classes through {@link ClassValue}, so the cache doesn't keep the classes of method
+ * references or their class loaders reachable, and entries go away together with the classes.
+ */
+public final class ProjectionNameCache {
+
+    private static volatile ClassValue<Holder> names = newNames();
+
+    private static final ClassValue<MethodHandle> WRITE_REPLACE = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            try {
+                Method replaceMethod = type.getDeclaredMethod("writeReplace");
+                replaceMethod.setAccessible(true);
+                return LambdaMethodReferenceReflection.lookup.unreflect(replaceMethod);
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    };
+
+    private static final LongAdder LOOKUPS = new LongAdder();
+
+    private static final LongAdder MISSES = new LongAdder();
+
+    private ProjectionNameCache() {
+    }
+
+    static String getName(LambdaMethodReferenceReflection reference) {
+        return resolve(reference).name;
+    }
+
+    /**
+     * @return key of the method the reference points to, equal for all references to the same method, {@code null}
+     * for a reference that captures arguments, e.g. a bound receiver, whose result depends on more than the method
+     */
+    static String getAccessor(LambdaMethodReferenceReflection reference) {
+        return resolve(reference).accessor;
+    }
+
+    private static Resolved resolve(LambdaMethodReferenceReflection reference) {
+        LOOKUPS.increment();
+        Holder holder = names.get(reference.getClass());
+        Resolved resolved = holder.resolved;
+        if (resolved == null) {
+            MISSES.increment();
+            SerializedLambda lambda = reference.serialized();
+            String accessor = lambda.getCapturedArgCount() > 0
+                    ? null
+                    : lambda.getImplClass() + "::" + lambda.getImplMethodName() + lambda.getImplMethodSignature();
+            resolved = new Resolved(reference.normalize(lambda.getImplMethodName()), accessor);
+            holder.resolved = resolved;
+        }
+        return resolved;
+    }
+
+    /**
+     * @param type synthetic class of a serializable lambda
+     * @return handle of its {@code writeReplace} method, resolved once per class
+     */
+    static MethodHandle writeReplace(Class<?> type) {
+        return WRITE_REPLACE.get(type);
+    }
+
+    public static long hitCount() {
+        return LOOKUPS.sum() - MISSES.sum();
+    }
+
+    public static long missCount() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Forgets the resolved names and resets the statistics.
+     */
+    static void clear() {
+        names = newNames();
+        LOOKUPS.reset();
+        MISSES.reset();
+    }
+
+    private static ClassValue<Holder> newNames() {
+        return new ClassValue<Holder>() {
+            @Override
+            protected Holder computeValue(Class<?> type) {
+                return new Holder();
+            }
+        };
+    }
+
+    /**
+     * Name of a method reference class, resolved from the first instance that is looked up. Concurrent first lookups
+     * may resolve the same name more than once.
+     */
+    private static final class Holder {
+
+        private volatile Resolved resolved;
+    }
+
+    private static final class Resolved {
+
+        private final String name;
+
+        private final String accessor;
+
+        private Resolved(String name, String accessor) {
+            this.name = name;
+            this.accessor = accessor;
+        }
+    }
+}
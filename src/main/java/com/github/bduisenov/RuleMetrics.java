@@ -0,0 +1,82 @@
+package com.github.bduisenov;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ValidationMetrics} that counts invocations, failures and running time of every rule in {@link LongAdder}s,
+ * so concurrent validations don't contend on the counters. Rules with the same field name and rule name share their
+ * counters, also when the metrics are attached to several specs.
+ * <pre>{@code
+ * RuleMetrics metrics = new RuleMetrics();
+ * ValidatorSpec<User> spec = USER_SPEC.withMetrics(metrics);
+ * ...
+ * metrics.snapshot().forEach(stats -> log.info("{}", stats));
+ * }</pre>
+ */
+public final class RuleMetrics implements ValidationMetrics {
+
+    private final ConcurrentMap<Key, Counters> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public Recorder recorder(String fieldName, String rule) {
+        return counters.computeIfAbsent(new Key(fieldName, rule), key -> new Counters());
+    }
+
+    /**
+     * @return statistics of every rule, in no particular order
+     */
+    public List<RuleStats> snapshot() {
+        List<RuleStats> stats = new ArrayList<>(counters.size());
+        for (Map.Entry<Key, Counters> entry : counters.entrySet()) {
+            Key key = entry.getKey();
+            Counters counters = entry.getValue();
+            stats.add(new RuleStats(key.getFieldName(), key.getRule(),
+                    counters.invocations.sum(), counters.failures.sum(), counters.nanos.sum()));
+        }
+        return stats;
+    }
+
+    /**
+     * Resets all counters, rules stay registered.
+     */
+    public void reset() {
+        for (Counters counters : this.counters.values()) {
+            counters.invocations.reset();
+            counters.failures.reset();
+            counters.nanos.reset();
+        }
+    }
+
+    private static final class Counters implements Recorder {
+
+        private final LongAdder invocations = new LongAdder();
+
+        private final LongAdder failures = new LongAdder();
+
+        private final LongAdder nanos = new LongAdder();
+
+        @Override
+        public void record(long nanos, boolean failed) {
+            invocations.increment();
+            this.nanos.add(nanos);
+            if (failed) {
+                failures.increment();
+            }
+        }
+    }
+
+    @Value
+    private static class Key {
+
+        private final String fieldName;
+
+        private final String rule;
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.bduisenov;
+
+import lombok.Value;
+
+/**
+ * Statistics of a rule at the moment of a {@link RuleMetrics#snapshot()}.
+ */
+@Value
+public class RuleStats {
+
+    private final String fieldName;
+
+    private final String rule;
+
+    private final long invocations;
+
+    private final long failures;
+
+    private final long totalNanos;
+
+    public double getAverageNanos() {
+        return invocations == 0 ? 0 : (double) totalNanos / invocations;
+    }
+}
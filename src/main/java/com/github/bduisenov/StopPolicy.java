@@ -0,0 +1,90 @@
+package com.github.bduisenov;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Defines when a {@link Validator} stops evaluating its rules. Once the limit of violations is reached the remaining
+ * rules, projections and list elements are skipped.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class StopPolicy {
+
+    private static final StopPolicy COLLECT_ALL = new StopPolicy(Integer.MAX_VALUE, false);
+
+    private static final StopPolicy FAIL_FAST = new StopPolicy(1, false);
+
+    private final int maxViolations;
+
+    /**
+     * Whether constraint groups are evaluated up to the first failed constraint in a learned order.
+     */
+    private final boolean adaptiveOrdering;
+
+    private StopPolicy(int maxViolations, boolean adaptiveOrdering) {
+        this.maxViolations = maxViolations;
+        this.adaptiveOrdering = adaptiveOrdering;
+    }
+
+    /**
+     * Evaluates every rule and collects every violation, this is the default behaviour.
+     */
+    public static StopPolicy collectAll() {
+        return COLLECT_ALL;
+    }
+
+    /**
+     * Stops at the first violation.
+     */
+    public static StopPolicy failFast() {
+        return FAIL_FAST;
+    }
+
+    /**
+     * Stops after {@code maxViolations} violations were collected.
+     */
+    public static StopPolicy maxViolations(int maxViolations) {
+        if (maxViolations < 1) {
+            throw new IllegalArgumentException("maxViolations must be positive");
+        }
+        return new StopPolicy(maxViolations, false);
+    }
+
+    /**
+     * Returns a policy with the same limit that also stops inside a group of constraints, added through a
+     * {@link ConstraintFactory}, at its first failed constraint. The constraints of a group are reordered at runtime
+     * by their sampled running time and failure rate, so a violation reports the error of a single constraint, which
+     * may differ between values. Useful when only the validity or the first violations are of interest.
+     * <p>
+     * An order is learned only by groups that are evaluated repeatedly, i.e. the rules of a {@link ValidatorSpec} and
+     * the element constraints of a collection. A group passed to a fluent {@link Validator} is created per call and
+     * stops at its first failed constraint in the declared order.
+     *
+     * @throws IllegalStateException for {@link #collectAll()}, whose results don't depend on the order
+     */
+    public StopPolicy withAdaptiveOrdering() {
+        if (!isLimited()) {
+            throw new IllegalStateException("adaptive ordering requires a limit of violations");
+        }
+        return new StopPolicy(maxViolations, true);
+    }
+
+    boolean isLimited() {
+        return maxViolations != Integer.MAX_VALUE;
+    }
+
+    /**
+     * @param violations violations collected so far, less than the limit
+     * @return policy with the limit of the violations that may still be collected
+     */
+    StopPolicy remaining(int violations) {
+        return violations == 0 ? this : new StopPolicy(maxViolations - violations, adaptiveOrdering);
+    }
+
+    boolean isReached(int violations) {
+        return violations >= maxViolations;
+    }
+}
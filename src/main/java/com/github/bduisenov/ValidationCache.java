@@ -0,0 +1,179 @@
+package com.github.bduisenov;
+
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Size bounded cache of validation results, attached to a spec with {@link ValidatorSpec#withCache}. Results are
+ * keyed by value equality, or by a key extracted with {@link #lru(int, Function)}.
+ * <p>
+ * Keys are spread over independent segments, so that concurrent lookups of different keys rarely wait for each other,
+ * and the least recently used result of a segment is evicted when the segment is full. A cache of less than
+ * {@value #MIN_SEGMENT_SIZE} results has a single segment.
+ * <p>
+ * A cache keeps the results of the spec it is attached to and can't be shared with another spec. Only immutable values
+ * should be validated through a cache: a value that changes after its result was cached keeps getting the stale result.
+ *
+ * @param <T> type of the validated value
+ */
+public final class ValidationCache<T> {
+
+    private static final int MIN_SEGMENT_SIZE = 64;
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Function<? super T, ?> keyFunction;
+
+    private final Segment[] segments;
+
+    /**
+     * Rules of the spec the cache is attached to, {@code null} before it is attached.
+     */
+    private final AtomicReference<Object> owner = new AtomicReference<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private ValidationCache(int maxSize, Function<? super T, ?> keyFunction) {
+        this.keyFunction = keyFunction;
+        int count = Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, maxSize / MIN_SEGMENT_SIZE)));
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(maxSize / count + (i < maxSize % count ? 1 : 0));
+        }
+    }
+
+    /**
+     * @param maxSize maximal number of cached results
+     */
+    public static <T> ValidationCache<T> lru(int maxSize) {
+        return lru(maxSize, Function.identity());
+    }
+
+    /**
+     * @param maxSize     maximal number of cached results
+     * @param keyFunction extracts the cache key of a value, e.g. its id and version
+     */
+    public static <T> ValidationCache<T> lru(int maxSize, @NonNull Function<? super T, ?> keyFunction) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        return new ValidationCache<>(maxSize, keyFunction);
+    }
+
+    /**
+     * Attaches the cache to the rules of a spec.
+     *
+     * @throws IllegalStateException when the cache is already attached to other rules
+     */
+    void attach(Object rules) {
+        if (!owner.compareAndSet(null, rules) && owner.get() != rules) {
+            throw new IllegalStateException("The cache is already attached to another spec");
+        }
+    }
+
+    Object key(T value) {
+        return keyFunction.apply(value);
+    }
+
+    /**
+     * @return cached violations, {@code null} when there is no result for the key
+     */
+    List<ValidatorViolation> get(Object key) {
+        Segment segment = segment(key);
+        List<ValidatorViolation> violations;
+        synchronized (segment) {
+            violations = segment.get(key);
+        }
+        if (violations != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return violations;
+    }
+
+    void put(Object key, List<ValidatorViolation> violations) {
+        List<ValidatorViolation> result = violations.isEmpty()
+                ? emptyList()
+                : Collections.unmodifiableList(new ArrayList<>(violations));
+        Segment segment = segment(key);
+        synchronized (segment) {
+            segment.put(key, result);
+        }
+    }
+
+    private Segment segment(Object key) {
+        int hash = Objects.hashCode(key);
+        return segments[(hash ^ hash >>> 16) & (segments.length - 1)];
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return share of lookups that found a cached result, {@code 0} before the first lookup
+     */
+    public double hitRate() {
+        long hits = hitCount();
+        long requests = hits + missCount();
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * Results in access order, guarded by the segment itself.
+     */
+    private static final class Segment extends LinkedHashMap<Object, List<ValidatorViolation>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        private Segment(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, List<ValidatorViolation>> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
@@ -4,11 +4,36 @@ import lombok.Value;
 
 import java.util.List;
 
+/**
+ * Thrown by {@link Validator#getOrThrow()}.
+ * <p>
+ * When invalid values are expected, e.g. on a public api, the stack trace can be skipped: either per exception with
+ * {@link #ValidationException(List, boolean)}, or for all exceptions with the system property
+ * {@value #STACKLESS_PROPERTY}{@code =true}. Validation without exceptions is possible with
+ * {@link Validator#toResult()}.
+ */
 @Value
 public class ValidationException extends RuntimeException {
 
+    public static final String STACKLESS_PROPERTY = "com.github.bduisenov.validator.stacklessExceptions";
+
+    private static final boolean STACKLESS = Boolean.getBoolean(STACKLESS_PROPERTY);
+
     private final List<ValidatorViolation> violations;
 
+    public ValidationException(List<ValidatorViolation> violations) {
+        this(violations, !STACKLESS);
+    }
+
+    /**
+     * @param violations
+     * @param writableStackTrace {@code false} to skip filling in the stack trace
+     */
+    public ValidationException(List<ValidatorViolation> violations, boolean writableStackTrace) {
+        super(null, null, true, writableStackTrace);
+        this.violations = violations;
+    }
+
     @Override
     public String getMessage() {
         return this.toString();
@@ -0,0 +1,28 @@
+package com.github.bduisenov;
+
+/**
+ * Listener of the rules evaluated by a {@link ValidatorSpec}, attached with {@link ValidatorSpec#withMetrics}.
+ * <p>
+ * A {@link Recorder} is requested once for every rule when the listener is attached, so evaluating a rule costs only
+ * the call of {@link Recorder#record}. See {@link RuleMetrics} for an implementation based on striped counters.
+ */
+public interface ValidationMetrics {
+
+    /**
+     * @param fieldName name of the validated field, empty for a {@code validateWhen} block
+     * @param rule      name of the builder method the rule was declared with, e.g. {@code validateList}, see
+     *                  {@link ValidatorSpec#withMetrics} for the names of blocks and their rules
+     * @return recorder of every evaluation of the rule
+     */
+    Recorder recorder(String fieldName, String rule);
+
+    @FunctionalInterface
+    interface Recorder {
+
+        /**
+         * @param nanos  running time of the rule
+         * @param failed {@code true} when the rule added violations
+         */
+        void record(long nanos, boolean failed);
+    }
+}
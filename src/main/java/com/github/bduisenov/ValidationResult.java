@@ -0,0 +1,88 @@
+package com.github.bduisenov;
+
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Outcome of a validation that is returned instead of thrown, see {@link Validator#toResult()}: either the valid value
+ * or the violations of an invalid one.
+ *
+ * @param <T> type of the validated value
+ */
+@ToString(doNotUseGetters = true)
+@EqualsAndHashCode(doNotUseGetters = true)
+public final class ValidationResult<T> {
+
+    private final T value;
+
+    private final List<ValidatorViolation> violations;
+
+    private ValidationResult(T value, List<ValidatorViolation> violations) {
+        this.value = value;
+        this.violations = violations;
+    }
+
+    public static <T> ValidationResult<T> valid(@NonNull T value) {
+        return new ValidationResult<>(value, emptyList());
+    }
+
+    public static <T> ValidationResult<T> invalid(@NonNull List<ValidatorViolation> violations) {
+        if (violations.isEmpty()) {
+            throw new IllegalArgumentException("violations must not be empty");
+        }
+        return new ValidationResult<>(null, violations);
+    }
+
+    public boolean isValid() {
+        return violations.isEmpty();
+    }
+
+    public boolean isInvalid() {
+        return !violations.isEmpty();
+    }
+
+    /**
+     * @return the valid value
+     * @throws NoSuchElementException when the value is invalid
+     */
+    public T getValue() {
+        if (isInvalid()) {
+            throw new NoSuchElementException("value is invalid");
+        }
+        return value;
+    }
+
+    /**
+     * @return violations of an invalid value, empty for a valid one
+     */
+    public List<ValidatorViolation> getViolations() {
+        return violations;
+    }
+
+    public Optional<T> toOptional() {
+        return Optional.ofNullable(value);
+    }
+
+    public <R> R fold(@NonNull Function<List<ValidatorViolation>, R> ifInvalid, @NonNull Function<T, R> ifValid) {
+        return isValid() ? ifValid.apply(value) : ifInvalid.apply(violations);
+    }
+
+    /**
+     * @return the valid value
+     * @throws ValidationException when the value is invalid
+     */
+    public T getOrThrow() {
+        if (isInvalid()) {
+            throw new ValidationException(violations);
+        }
+        return value;
+    }
+}
@@ -1,15 +1,28 @@
 package com.github.bduisenov;
 
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Consumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
 import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
@@ -25,18 +38,46 @@ public class Validator<T, SELF extends Validator<T, SELF>> {
 
     static final String NOT_NULL_MESSAGE = "may not be null";
 
+    private static final Object MISSING = new Object();
+
     /**
-     * Object that is validated
+     * Object that is validated, replaced only by {@link #reset(Object)}
      */
-    private final T value;
+    private T value;
 
     @SuppressWarnings("unchecked")
     private SELF self = (SELF) this;
 
     /**
-     * List of exception thrown during validation.
+     * List of exception thrown during validation, created with the first violation.
+     */
+    private List<ValidatorViolation> violations;
+
+    /**
+     * Defines when the remaining rules are skipped.
+     */
+    private StopPolicy stopPolicy = StopPolicy.collectAll();
+
+    /**
+     * Defines how large lists and maps are validated in parallel, {@code null} when they are validated sequentially.
+     */
+    private Parallelism parallelism;
+
+    /**
+     * Values of {@link Projection}s evaluated during this run by accessor, or by instance for named projections,
+     * {@code null} when projections are not cached.
+     */
+    private Map<Object, Object> projectionCache;
+
+    /**
+     * Violations in the flat form, {@code null} when violations are collected as a tree.
+     */
+    private FlatViolations.Builder flatViolations;
+
+    /**
+     * Objects nested during this run, {@code null} when nested objects are not tracked.
      */
-    private final List<ValidatorViolation> violations = new ArrayList<>();
+    private VisitTracker visitTracker;
 
     /**
      * Creates an applicative functor.
@@ -52,6 +93,83 @@ public class Validator<T, SELF extends Validator<T, SELF>> {
         return new Validator<>(t);
     }
 
+    /**
+     * @param stopPolicy defines after how many violations the remaining rules are skipped
+     * @return
+     */
+    public SELF withStopPolicy(@NonNull StopPolicy stopPolicy) {
+        this.stopPolicy = stopPolicy;
+        return self;
+    }
+
+    /**
+     * @param parallelism defines how elements of large lists and maps are validated concurrently
+     * @return
+     */
+    public SELF withParallelism(@NonNull Parallelism parallelism) {
+        this.parallelism = parallelism;
+        return self;
+    }
+
+    /**
+     * Evaluates every {@link Projection} and {@link ProjectionOpt} method reference once per validator, so several rules
+     * on the same getter reuse the extracted value. Useful when getters are expensive. References that capture
+     * arguments, like {@code other::get}, are evaluated on every use.
+     *
+     * @return
+     */
+    public SELF withProjectionCache() {
+        if (projectionCache == null) {
+            projectionCache = new HashMap<>();
+        }
+        return self;
+    }
+
+    /**
+     * Collects violations directly in the flat form of {@link #getFlatViolations()}: every violation is flattened as
+     * it is added, and nested validators that collect flat violations too, e.g. nested {@link ValidatorSpec}s, are
+     * appended without intermediate tree nodes. {@link #getViolations()} then rebuilds the tree, once until a violation
+     * is added.
+     *
+     * @return
+     */
+    public SELF withFlatViolations() {
+        if (flatViolations == null) {
+            flatViolations = new FlatViolations.Builder();
+            if (violations != null) {
+                violations.forEach(flatViolations::add);
+                violations = null;
+            }
+        }
+        return self;
+    }
+
+    /**
+     * Tracks nested objects by identity for the whole graph below this validator, including nested validators:
+     * an object that is nested several times with the same {@link ValidatorSpec} is validated once and its result is
+     * reused, an object that is nested into itself through a back-reference, the value of this validator included, is
+     * not validated again, whatever function it is nested with, and a nested object deeper than
+     * {@value VisitTracker#DEFAULT_MAX_DEPTH} levels is reported as a violation.
+     *
+     * @return
+     */
+    public SELF withVisitTracking() {
+        return withVisitTracking(VisitTracker.DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * @param maxDepth maximal number of nested levels, objects below it are reported as violations
+     * @return
+     * @see #withVisitTracking()
+     */
+    public SELF withVisitTracking(int maxDepth) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("maxDepth must be positive");
+        }
+        visitTracker = new VisitTracker(maxDepth, value);
+        return self;
+    }
+
     /**
      * Base {@code validate} method
      *
@@ -61,6 +179,9 @@ public class Validator<T, SELF extends Validator<T, SELF>> {
      * @return
      */
     public SELF validate(@NonNull String fieldName, @NonNull Predicate<T> validation, @NonNull String message) {
+        if (isStopped()) {
+            return self;
+        }
         if (!validation.test(getValue())) {
             addViolation(ValidatorViolation.fromErrors(fieldName, singletonList(message)));
         }
@@ -77,9 +198,16 @@ public class Validator<T, SELF extends Validator<T, SELF>> {
      * @see #validate(String, Predicate, String)
      */
     public <U> SELF validate(String fieldName, Function<T, U> projection, Predicate<U> validation, String message) {
-        return projection.apply(getValue()) == null
-                ? validate(fieldName, $_ -> false, getNotNullMessage())
-                : validate(fieldName, projection.andThen(validation::test)::apply, message);
+        if (isStopped()) {
+            return self;
+        }
+        U attr = projection.apply(getValue());
+        if (attr == null) {
+            addNotNullViolation(fieldName);
+        } else if (!validation.test(attr)) {
+            addViolation(ValidatorViolation.fromErrors(fieldName, singletonList(message)));
+        }
+        return self;
     }
 
     /**
@@ -91,7 +219,7 @@ public class Validator<T, SELF extends Validator<T, SELF>> {
      * @see #validate(String, Predicate, String)
      */
     public <U> SELF validate(Projection<T, U> projection, Predicate<U> validation, String message) {
-        return validate(projection.getName(), projection, validation, message);
+        return validate(projection.getName(), cached(projection), validation, message);
     }
 
     /**
@@ -102,7 +230,7 @@ public class Validator<T, SELF extends Validator<T, SELF>> {
      * @see #validate(String, Predicate, String)
      */
     public <U> SELF validate(Projection<T, U> projection, Pair<Predicate<U>, String> predicateAndMessage) {
-        return validate(projection.getName(), projection, predicateAndMessage._1(), predicateAndMessage._2());
+        return validate(projection.getName(), cached(projection), predicateAndMessage._1(), predicateAndMessage._2());
     }
 
     /**
@@ -115,10 +243,14 @@ public class Validator<T, SELF extends Validator<T, SELF>> {
      * @see #validate(String, Predicate, String)
      */
     public <U> SELF validateOpt(String fieldName, Function<T, U> projection, Predicate<U> validation, String message) {
-        Predicate<T> wrapper = projection.andThen(Optional::ofNullable)
-                .andThen(opt -> opt.map(validation::test).orElse(true))::apply;
-
-        return validate(fieldName, wrapper, message);
+        if (isStopped()) {
+            return self;
+        }
+        U attr = projection.apply(getValue());
+        if (attr != null && !validation.test(attr)) {
+            addViolation(ValidatorViolation.fromErrors(fieldName, singletonList(message)));
+        }
+        return self;
     }
 
     /**
@@ -130,7 +262,7 @@ public class Validator<T, SELF extends Validator<T, SELF>> {
      * @see #validate(String, Predicate, String)
      */
     public <U> SELF validateOpt(Projection<T, U> projection, Predicate<U> validation, String message) {
-        return validateOpt(projection.getName(), projection, validation, message);
+        return validateOpt(projection.getName(), cached(projection), validation, message);
     }
 
     /**
@@ -141,7 +273,7 @@ public class Validator<T, SELF extends Validator<T, SELF>> {
      * @see #validate(String, Predicate, String)
      */
     public <U> SELF validateOpt(Projection<T, U> projection, Pair<Predicate<U>, String> predicateAndMessage) {
-        return validateOpt(projection.getName(), projection, predicateAndMessage._1(), predicateAndMessage._2());
+        return validateOpt(projection.getName(), cached(projection), predicateAndMessage._1(), predicateAndMessage._2());
     }
 
     /**
@@ -153,9 +285,14 @@ public class Validator<T, SELF extends Validator<T, SELF>> {
      * @see #validate(String, Predicate, String)
      */
     public <U> SELF validateOpt(ProjectionOpt<T, U> projection, Predicate<U> validation, String message) {
-        return projection.apply(getValue())
-                .map(attr -> validateOpt(projection.getName(), $_ -> attr, validation, message))
-                .orElse(self);
+        if (isStopped()) {
+            return self;
+        }
+        U attr = project(projection, projection).orElse(null);
+        if (attr != null && !validation.test(attr)) {
+            addViolation(ValidatorViolation.fromErrors(projection.getName(), singletonList(message)));
+        }
+        return self;
     }
 
     /**
@@ -168,7 +305,10 @@ public class Validator<T, SELF extends Validator<T, SELF>> {
      * @return
      */
     <U> SELF validate(@NonNull String fieldName, @NonNull U attr, @NonNull Function<U, List<String>> validation) {
-        List<String> errors = validation.apply(attr);
+        if (isStopped()) {
+            return self;
+        }
+        List<String> errors = adaptive(validation).apply(attr);
         if (!errors.isEmpty()) {
             addViolation(ValidatorViolation.fromErrors(fieldName, errors));
         }
@@ -184,11 +324,15 @@ public class Validator<T, SELF extends Validator<T, SELF>> {
      * @see #validate(String, U, Function)
      */
     public <U> SELF validate(String fieldName, Function<T, U> projection, Function<U, List<String>> validation) {
-        return Optional.ofNullable(projection.apply(getValue()))
-                .map(attr -> validate(fieldName, attr, validation)).orElseGet(() -> {
-                    addViolation(ValidatorViolation.fromErrors(fieldName, singletonList(getNotNullMessage())));
-                    return self;
-                });
+        if (isStopped()) {
+            return self;
+        }
+        U attr = projection.apply(getValue());
+        if (attr == null) {
+            addNotNullViolation(fieldName);
+            return self;
+        }
+        return validate(fieldName, attr, validation);
     }
 
     /**
@@ -199,7 +343,7 @@ public class Validator<T, SELF extends Validator<T, SELF>> {
      * @see #validate(String, U, Function)
      */
     public <U> SELF validate(Projection<T, U> projection, Function<U, List<String>> validation) {
-        return validate(projection.getName(), projection, validation);
+        return validate(projection.getName(), cached(projection), validation);
     }
 
     /**
@@ -211,17 +355,10 @@ public class Validator<T, SELF extends Validator<T, SELF>> {
      * @see #validate(String, U, Function)
      */
     public <U> SELF validate(String fieldName, Function<T, U> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
-        List<Function<U, List<String>>> constraints = new ArrayList<>();
-
-        constraintsFactoryConsumer.accept(new InternalConstraintFactory<>(constraints));
-
-        Function<U, List<String>> validation = val -> constraints.stream()
-                .map(constraint -> constraint.apply(val))
-                .filter(xs -> !xs.isEmpty())
-                .flatMap(List::stream)
-                .collect(toList());
-
-        return validate(fieldName, projection, validation);
+        if (isStopped()) {
+            return self;
+        }
+        return validate(fieldName, projection, Constraints.of(constraintsFactoryConsumer));
     }
 
     /**
@@ -232,31 +369,48 @@ public class Validator<T, SELF extends Validator<T, SELF>> {
      * @see #validate(String, U, Function)
      */
     public <U> SELF validate(Projection<T, U> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
-        return validate(projection.getName(), projection, constraintsFactoryConsumer);
+        return validate(projection.getName(), cached(projection), constraintsFactoryConsumer);
     }
 
     // MARK: LIST VALIDATION
 
     public <U> SELF validateList(String fieldName, Function<T, List<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
-        List<Function<U, List<String>>> constraints = new ArrayList<>();
-
-        constraintsFactoryConsumer.accept(new InternalConstraintFactory<>(constraints));
-
-        Function<U, List<String>> validation = val -> constraints.stream()
-                .map(constraint -> constraint.apply(val))
-                .filter(xs -> !xs.isEmpty())
-                .flatMap(List::stream)
-                .collect(toList());
-
-        Optional<List<U>> xsOpt = Optional.ofNullable(projection.apply(getValue()));
+        if (isStopped()) {
+            return self;
+        }
+        return validateElements(fieldName, projection, Constraints.of(constraintsFactoryConsumer));
+    }
 
-        if (!xsOpt.isPresent()) {
-            addViolation(ValidatorViolation.fromErrors(fieldName, singletonList(getNotNullMessage())));
+    /**
+     * Base list validation method, applies already compiled {@code validation} to every element of the list.
+     *
+     * @param fieldName
+     * @param projection
+     * @param validation
+     * @param <U>
+     * @return
+     */
+    <U> SELF validateElements(String fieldName, Function<T, List<U>> projection, Function<U, List<String>> validation) {
+        if (isStopped()) {
+            return self;
+        }
+        List<U> xs = projection.apply(getValue());
+        if (xs == null) {
+            addNotNullViolation(fieldName);
             return self;
         }
+        return validateElements(fieldName, xs, validation);
+    }
 
-        List<U> xs = xsOpt.get();
-        for (int i = 0; i < xs.size(); i++) {
+    private <U> SELF validateElements(String fieldName, List<U> xs, Function<U, List<String>> validation) {
+        validation = adaptive(validation);
+        if (parallelism != null && parallelism.isApplicable(xs)) {
+            return validateElementsInParallel(fieldName, xs, validation);
+        }
+        if (!(xs instanceof RandomAccess)) {
+            return validateElements(fieldName, xs.iterator(), validation);
+        }
+        for (int i = 0; i < xs.size() && !isStopped(); i++) {
             List<String> errors = validation.apply(xs.get(i));
             if (!errors.isEmpty()) {
                 addViolation(ValidatorCollectionViolation.fromCollectionErrors(fieldName, i, errors));
@@ -266,42 +420,299 @@ public class Validator<T, SELF extends Validator<T, SELF>> {
         return self;
     }
 
+    /**
+     * Walks the elements once, the index of an element is its position in the iteration order.
+     */
+    private <U> SELF validateElements(String fieldName, Iterator<U> xs, Function<U, List<String>> validation) {
+        validation = adaptive(validation);
+        for (int i = 0; xs.hasNext() && !isStopped(); i++) {
+            List<String> errors = validation.apply(xs.next());
+            if (!errors.isEmpty()) {
+                addViolation(ValidatorCollectionViolation.fromCollectionErrors(fieldName, i, errors));
+            }
+        }
+
+        return self;
+    }
+
+    private <U> SELF validateElementsInParallel(String fieldName, List<U> xs, Function<U, List<String>> validation) {
+        int limit = stopPolicy.getMaxViolations() - violationCount();
+
+        List<CompletableFuture<List<ValidatorViolation>>> chunks = new ArrayList<>();
+        for (int from = 0; from < xs.size(); from += parallelism.getChunkSize()) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(from + parallelism.getChunkSize(), xs.size());
+            chunks.add(CompletableFuture.supplyAsync(
+                    () -> validateChunk(fieldName, xs, chunkFrom, chunkTo, limit, validation), parallelism.getExecutor()));
+        }
+
+        for (CompletableFuture<List<ValidatorViolation>> chunk : chunks) {
+            if (isStopped()) {
+                chunk.cancel(false);
+                continue;
+            }
+            for (ValidatorViolation violation : join(chunk)) {
+                if (isStopped()) {
+                    break;
+                }
+                addViolation(violation);
+            }
+        }
+
+        return self;
+    }
+
+    private static <U> List<ValidatorViolation> validateChunk(String fieldName, List<U> xs, int from, int to, int limit,
+                                                              Function<U, List<String>> validation) {
+        List<ValidatorViolation> chunkViolations = new ArrayList<>();
+        for (int i = from; i < to && chunkViolations.size() < limit; i++) {
+            List<String> errors = validation.apply(xs.get(i));
+            if (!errors.isEmpty()) {
+                chunkViolations.add(ValidatorCollectionViolation.fromCollectionErrors(fieldName, i, errors));
+            }
+        }
+        return chunkViolations;
+    }
+
+    static <R> R join(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     public <U> SELF validateList(Projection<T, List<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
-        return validateList(projection.getName(), projection, constraintsFactoryConsumer);
+        return validateList(projection.getName(), cached(projection), constraintsFactoryConsumer);
     }
 
     public <U> SELF validateListOpt(String fieldName, Function<T, List<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
-        return projection.apply(getValue()) != null
-                ? validateList(fieldName, projection, constraintsFactoryConsumer)
+        if (isStopped()) {
+            return self;
+        }
+        return validateElementsOpt(fieldName, projection, Constraints.of(constraintsFactoryConsumer));
+    }
+
+    <U> SELF validateElementsOpt(String fieldName, Function<T, List<U>> projection, Function<U, List<String>> validation) {
+        if (isStopped()) {
+            return self;
+        }
+        List<U> xs = projection.apply(getValue());
+        return xs != null
+                ? validateElements(fieldName, xs, validation)
                 : self;
     }
 
     public <U> SELF validateListOpt(Projection<T, List<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
-        return validateListOpt(projection.getName(), projection, constraintsFactoryConsumer);
+        return validateListOpt(projection.getName(), cached(projection), constraintsFactoryConsumer);
+    }
+
+    // MARK: ITERABLE VALIDATION
+
+    /**
+     * Validates every element of any {@link Iterable}, e.g. a {@link java.util.Set}, walking it once with its iterator.
+     * The index of a {@link ValidatorCollectionViolation} is the position of the element in the iteration order.
+     *
+     * @param fieldName
+     * @param projection
+     * @param constraintsFactoryConsumer
+     * @param <U>
+     * @return
+     */
+    public <U> SELF validateIterable(String fieldName, Function<T, ? extends Iterable<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+        if (isStopped()) {
+            return self;
+        }
+        return validateIterableElements(fieldName, projection, Constraints.of(constraintsFactoryConsumer));
+    }
+
+    public <U> SELF validateIterable(Projection<T, ? extends Iterable<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+        return validateIterable(projection.getName(), cached(projection), constraintsFactoryConsumer);
+    }
+
+    public <U> SELF validateIterableOpt(String fieldName, Function<T, ? extends Iterable<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+        if (isStopped()) {
+            return self;
+        }
+        return validateIterableElementsOpt(fieldName, projection, Constraints.of(constraintsFactoryConsumer));
+    }
+
+    public <U> SELF validateIterableOpt(Projection<T, ? extends Iterable<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+        return validateIterableOpt(projection.getName(), cached(projection), constraintsFactoryConsumer);
+    }
+
+    /**
+     * Validates every element of a {@link Stream} without collecting it. The stream is consumed but not closed.
+     * Streams can be consumed only once, so stream projections are not cached by {@link #withProjectionCache()}.
+     *
+     * @param fieldName
+     * @param projection
+     * @param constraintsFactoryConsumer
+     * @param <U>
+     * @return
+     * @see #validateIterable(String, Function, Consumer)
+     */
+    public <U> SELF validateStream(String fieldName, Function<T, ? extends Stream<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+        if (isStopped()) {
+            return self;
+        }
+        return validateIterableElements(fieldName, iterable(projection), Constraints.of(constraintsFactoryConsumer));
+    }
+
+    public <U> SELF validateStream(Projection<T, ? extends Stream<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+        return validateStream(projection.getName(), projection, constraintsFactoryConsumer);
+    }
+
+    public <U> SELF validateStreamOpt(String fieldName, Function<T, ? extends Stream<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+        if (isStopped()) {
+            return self;
+        }
+        return validateIterableElementsOpt(fieldName, iterable(projection), Constraints.of(constraintsFactoryConsumer));
+    }
+
+    public <U> SELF validateStreamOpt(Projection<T, ? extends Stream<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+        return validateStreamOpt(projection.getName(), projection, constraintsFactoryConsumer);
+    }
+
+    <U> SELF validateIterableElements(String fieldName, Function<T, ? extends Iterable<U>> projection, Function<U, List<String>> validation) {
+        if (isStopped()) {
+            return self;
+        }
+        Iterable<U> xs = projection.apply(getValue());
+        if (xs == null) {
+            addNotNullViolation(fieldName);
+            return self;
+        }
+        return xs instanceof List
+                ? validateElements(fieldName, (List<U>) xs, validation)
+                : validateElements(fieldName, xs.iterator(), validation);
+    }
+
+    <U> SELF validateIterableElementsOpt(String fieldName, Function<T, ? extends Iterable<U>> projection, Function<U, List<String>> validation) {
+        if (isStopped()) {
+            return self;
+        }
+        Iterable<U> xs = projection.apply(getValue());
+        if (xs == null) {
+            return self;
+        }
+        return xs instanceof List
+                ? validateElements(fieldName, (List<U>) xs, validation)
+                : validateElements(fieldName, xs.iterator(), validation);
+    }
+
+    static <T, U> Function<T, Iterable<U>> iterable(Function<T, ? extends Stream<U>> projection) {
+        return value -> {
+            Stream<U> xs = projection.apply(value);
+            return xs == null ? null : xs::iterator;
+        };
     }
 
     // MARK: MAP VALIDATION
 
     public <L, R> SELF validateMap(String fieldName, Function<T, Map<L, R>> projection, Consumer<ConstraintFactory<Pair<L, R>>> constraintsFactoryConsumer) {
-        Function<T, List<Pair<L, R>>> listProjection = projection.andThen(xs -> xs.entrySet().stream()
-                .map(e -> new Pair<>(e.getKey(), e.getValue()))
-                .collect(toList()));
-
-        return validateList(fieldName, listProjection, constraintsFactoryConsumer);
+        return validateList(fieldName, entries(projection), constraintsFactoryConsumer);
     }
 
     public <L, R> SELF validateMap(Projection<T, Map<L, R>> projection, Consumer<ConstraintFactory<Pair<L, R>>> constraintsFactoryConsumer) {
-        return validateMap(projection.getName(), projection, constraintsFactoryConsumer);
+        return validateMap(projection.getName(), cached(projection), constraintsFactoryConsumer);
     }
 
     public <L, R> SELF validateMapOpt(String fieldName, Function<T, Map<L, R>> projection, Consumer<ConstraintFactory<Pair<L, R>>> constraintsFactoryConsumer) {
-        return projection.apply(getValue()) != null
-                ? validateMap(fieldName, projection, constraintsFactoryConsumer)
-                : self;
+        if (isStopped()) {
+            return self;
+        }
+        return validateElementsOpt(fieldName, entries(projection), Constraints.of(constraintsFactoryConsumer));
     }
 
     public <L, R> SELF validateMapOpt(Projection<T, Map<L, R>> projection, Consumer<ConstraintFactory<Pair<L, R>>> constraintsFactoryConsumer) {
-        return validateMapOpt(projection.getName(), projection, constraintsFactoryConsumer);
+        return validateMapOpt(projection.getName(), cached(projection), constraintsFactoryConsumer);
+    }
+
+    /**
+     * Validates keys and values of a map in place, walking {@link Map#entrySet()} once. An invalid entry is reported as
+     * a {@link ValidatorMapViolation} addressed by its key.
+     *
+     * @param fieldName
+     * @param projection
+     * @param keyConstraintsFactoryConsumer constraints of the keys
+     * @param valueConstraintsFactoryConsumer constraints of the values
+     * @param <L>
+     * @param <R>
+     * @return
+     */
+    public <L, R> SELF validateMap(String fieldName, Function<T, Map<L, R>> projection,
+                                   Consumer<ConstraintFactory<L>> keyConstraintsFactoryConsumer,
+                                   Consumer<ConstraintFactory<R>> valueConstraintsFactoryConsumer) {
+        return validateEntries(fieldName, projection,
+                Constraints.of(keyConstraintsFactoryConsumer), Constraints.of(valueConstraintsFactoryConsumer));
+    }
+
+    public <L, R> SELF validateMap(Projection<T, Map<L, R>> projection,
+                                   Consumer<ConstraintFactory<L>> keyConstraintsFactoryConsumer,
+                                   Consumer<ConstraintFactory<R>> valueConstraintsFactoryConsumer) {
+        return validateMap(projection.getName(), cached(projection), keyConstraintsFactoryConsumer, valueConstraintsFactoryConsumer);
+    }
+
+    public <L, R> SELF validateMapOpt(String fieldName, Function<T, Map<L, R>> projection,
+                                      Consumer<ConstraintFactory<L>> keyConstraintsFactoryConsumer,
+                                      Consumer<ConstraintFactory<R>> valueConstraintsFactoryConsumer) {
+        return validateEntriesOpt(fieldName, projection,
+                Constraints.of(keyConstraintsFactoryConsumer), Constraints.of(valueConstraintsFactoryConsumer));
+    }
+
+    public <L, R> SELF validateMapOpt(Projection<T, Map<L, R>> projection,
+                                      Consumer<ConstraintFactory<L>> keyConstraintsFactoryConsumer,
+                                      Consumer<ConstraintFactory<R>> valueConstraintsFactoryConsumer) {
+        return validateMapOpt(projection.getName(), cached(projection), keyConstraintsFactoryConsumer, valueConstraintsFactoryConsumer);
+    }
+
+    <L, R> SELF validateEntries(String fieldName, Function<T, Map<L, R>> projection,
+                                Function<L, List<String>> keyValidation, Function<R, List<String>> valueValidation) {
+        if (isStopped()) {
+            return self;
+        }
+        Map<L, R> xs = projection.apply(getValue());
+        if (xs == null) {
+            addNotNullViolation(fieldName);
+            return self;
+        }
+        return validateEntries(fieldName, xs, keyValidation, valueValidation);
+    }
+
+    <L, R> SELF validateEntriesOpt(String fieldName, Function<T, Map<L, R>> projection,
+                                   Function<L, List<String>> keyValidation, Function<R, List<String>> valueValidation) {
+        if (isStopped()) {
+            return self;
+        }
+        Map<L, R> xs = projection.apply(getValue());
+        if (xs == null) {
+            return self;
+        }
+        return validateEntries(fieldName, xs, keyValidation, valueValidation);
+    }
+
+    private <L, R> SELF validateEntries(String fieldName, Map<L, R> xs,
+                                        Function<L, List<String>> keyValidation, Function<R, List<String>> valueValidation) {
+        keyValidation = adaptive(keyValidation);
+        valueValidation = adaptive(valueValidation);
+        Iterator<Map.Entry<L, R>> entries = xs.entrySet().iterator();
+        while (entries.hasNext() && !isStopped()) {
+            Map.Entry<L, R> entry = entries.next();
+            List<String> keyErrors = keyValidation.apply(entry.getKey());
+            List<String> valueErrors = valueValidation.apply(entry.getValue());
+            if (!keyErrors.isEmpty() || !valueErrors.isEmpty()) {
+                addViolation(ValidatorMapViolation.fromEntryErrors(fieldName, entry.getKey(), keyErrors, valueErrors));
+            }
+        }
+
+        return self;
     }
 
     /**
@@ -313,8 +724,12 @@ public class Validator<T, SELF extends Validator<T, SELF>> {
      * @see #validate(String, U, Function)
      */
     public <U> SELF validateOpt(String fieldName, Function<T, U> projection, Function<U, List<String>> validation) {
-        return projection.apply(getValue()) != null
-                ? validate(fieldName, projection.apply(getValue()), validation)
+        if (isStopped()) {
+            return self;
+        }
+        U attr = projection.apply(getValue());
+        return attr != null
+                ? validate(fieldName, attr, validation)
                 : self;
     }
 
@@ -326,7 +741,7 @@ public class Validator<T, SELF extends Validator<T, SELF>> {
      * @see #validate(String, U, Function)
      */
     public <U> SELF validateOpt(Projection<T, U> projection, Function<U, List<String>> validation) {
-        return validateOpt(projection.getName(), projection, validation);
+        return validateOpt(projection.getName(), cached(projection), validation);
     }
 
     /**
@@ -337,70 +752,291 @@ public class Validator<T, SELF extends Validator<T, SELF>> {
      * @see #validate(String, U, Function)
      */
     public <U> SELF validateOpt(ProjectionOpt<T, U> projection, Function<U, List<String>> validation) {
-        return projection.apply(getValue())
-                .map(attr -> validateOpt(projection.getName(), $_ -> attr, validation))
-                .orElse(self);
+        if (isStopped()) {
+            return self;
+        }
+        U attr = project(projection, projection).orElse(null);
+        return attr != null
+                ? validate(projection.getName(), attr, validation)
+                : self;
     }
 
     public <U> SELF validateOpt(String fieldName, Function<T, U> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
-        return projection.apply(getValue()) != null
-                ? validate(fieldName, projection, constraintsFactoryConsumer)
+        if (isStopped()) {
+            return self;
+        }
+        U attr = projection.apply(getValue());
+        return attr != null
+                ? validate(fieldName, attr, Constraints.of(constraintsFactoryConsumer))
                 : self;
     }
 
     public <U> SELF validateOpt(Projection<T, U> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
-        return validateOpt(projection.getName(), projection, constraintsFactoryConsumer);
+        return validateOpt(projection.getName(), cached(projection), constraintsFactoryConsumer);
+    }
+
+    // MARK: PRIMITIVE VALIDATION
+
+    /**
+     * Validates a primitive {@code int} attribute without boxing it.
+     *
+     * @param fieldName
+     * @param projection
+     * @param validation
+     * @param message
+     * @return
+     * @see #validate(String, Predicate, String)
+     */
+    public SELF validateInt(String fieldName, ToIntFunction<T> projection, IntPredicate validation, String message) {
+        if (isStopped()) {
+            return self;
+        }
+        if (!validation.test(projection.applyAsInt(getValue()))) {
+            addViolation(ValidatorViolation.fromErrors(fieldName, singletonList(message)));
+        }
+        return self;
+    }
+
+    public SELF validateInt(IntProjection<T> projection, IntPredicate validation, String message) {
+        return validateInt(projection.getName(), projection, validation, message);
+    }
+
+    /**
+     * @param fieldName
+     * @param projection
+     * @param validation e.g. {@code val -> BasicValidations.min(val, 1)}
+     * @return
+     * @see #validate(String, U, Function)
+     */
+    public SELF validateInt(String fieldName, ToIntFunction<T> projection, IntFunction<List<String>> validation) {
+        if (isStopped()) {
+            return self;
+        }
+        List<String> errors = validation.apply(projection.applyAsInt(getValue()));
+        if (!errors.isEmpty()) {
+            addViolation(ValidatorViolation.fromErrors(fieldName, errors));
+        }
+        return self;
+    }
+
+    public SELF validateInt(IntProjection<T> projection, IntFunction<List<String>> validation) {
+        return validateInt(projection.getName(), projection, validation);
+    }
+
+    /**
+     * Validates a primitive {@code long} attribute without boxing it.
+     *
+     * @param fieldName
+     * @param projection
+     * @param validation
+     * @param message
+     * @return
+     * @see #validate(String, Predicate, String)
+     */
+    public SELF validateLong(String fieldName, ToLongFunction<T> projection, LongPredicate validation, String message) {
+        if (isStopped()) {
+            return self;
+        }
+        if (!validation.test(projection.applyAsLong(getValue()))) {
+            addViolation(ValidatorViolation.fromErrors(fieldName, singletonList(message)));
+        }
+        return self;
+    }
+
+    public SELF validateLong(LongProjection<T> projection, LongPredicate validation, String message) {
+        return validateLong(projection.getName(), projection, validation, message);
+    }
+
+    /**
+     * @param fieldName
+     * @param projection
+     * @param validation e.g. {@code val -> BasicValidations.min(val, 1)}
+     * @return
+     * @see #validate(String, U, Function)
+     */
+    public SELF validateLong(String fieldName, ToLongFunction<T> projection, LongFunction<List<String>> validation) {
+        if (isStopped()) {
+            return self;
+        }
+        List<String> errors = validation.apply(projection.applyAsLong(getValue()));
+        if (!errors.isEmpty()) {
+            addViolation(ValidatorViolation.fromErrors(fieldName, errors));
+        }
+        return self;
+    }
+
+    public SELF validateLong(LongProjection<T> projection, LongFunction<List<String>> validation) {
+        return validateLong(projection.getName(), projection, validation);
+    }
+
+    /**
+     * Validates a primitive {@code double} attribute without boxing it.
+     *
+     * @param fieldName
+     * @param projection
+     * @param validation
+     * @param message
+     * @return
+     * @see #validate(String, Predicate, String)
+     */
+    public SELF validateDouble(String fieldName, ToDoubleFunction<T> projection, DoublePredicate validation, String message) {
+        if (isStopped()) {
+            return self;
+        }
+        if (!validation.test(projection.applyAsDouble(getValue()))) {
+            addViolation(ValidatorViolation.fromErrors(fieldName, singletonList(message)));
+        }
+        return self;
+    }
+
+    public SELF validateDouble(DoubleProjection<T> projection, DoublePredicate validation, String message) {
+        return validateDouble(projection.getName(), projection, validation, message);
+    }
+
+    /**
+     * @param fieldName
+     * @param projection
+     * @param validation e.g. {@code val -> BasicValidations.min(val, 1)}
+     * @return
+     * @see #validate(String, U, Function)
+     */
+    public SELF validateDouble(String fieldName, ToDoubleFunction<T> projection, DoubleFunction<List<String>> validation) {
+        if (isStopped()) {
+            return self;
+        }
+        List<String> errors = validation.apply(projection.applyAsDouble(getValue()));
+        if (!errors.isEmpty()) {
+            addViolation(ValidatorViolation.fromErrors(fieldName, errors));
+        }
+        return self;
+    }
+
+    public SELF validateDouble(DoubleProjection<T> projection, DoubleFunction<List<String>> validation) {
+        return validateDouble(projection.getName(), projection, validation);
     }
 
     // MARK: NESTED VALIDATOR METHODS
 
     public <U, V extends Validator<U, ?>> SELF nest(String fieldName, Function<T, U> projection, Function<U, V> nestedValidatorFunc) {
+        if (isStopped()) {
+            return self;
+        }
         U val = projection.apply(getValue());
 
         if (val != null) {
-            List<ValidatorViolation> nestedViolations = nestedValidatorFunc.apply(val).getViolations();
-            if (!nestedViolations.isEmpty()) {
-                ValidatorViolation violation = ValidatorViolation.fromViolations(fieldName, nestedViolations);
-                addViolation(violation);
-            }
+            nestValue(fieldName, val, nestedValidatorFunc);
         } else {
-            ValidatorViolation violation = ValidatorViolation.fromErrors(fieldName, singletonList(getNotNullMessage()));
-            addViolation(violation);
+            addNotNullViolation(fieldName);
         }
         return self;
     }
 
     public <U, V extends Validator<U, ?>> SELF nest(Projection<T, U> projection, Function<U, V> nestedValidatorFunc) {
-        return nest(projection.getName(), projection, nestedValidatorFunc);
+        return nest(projection.getName(), cached(projection), nestedValidatorFunc);
     }
 
     public <U, V extends Validator<U, ?>> SELF nestOpt(String fieldName, Function<T, U> projection, Function<U, V> nestedValidatorFunc) {
+        if (isStopped()) {
+            return self;
+        }
         U val = projection.apply(getValue());
 
         if (val != null) {
-            List<ValidatorViolation> nestedViolations = nestedValidatorFunc.apply(val).getViolations();
-            if (!nestedViolations.isEmpty()) {
-                ValidatorViolation violation = ValidatorViolation.fromViolations(fieldName, nestedViolations);
-                addViolation(violation);
-            }
+            nestValue(fieldName, val, nestedValidatorFunc);
         }
 
         return self;
     }
 
     public <U, V extends Validator<U, ?>> SELF nestOpt(Projection<T, U> projection, Function<U, V> nestedValidatorFunc) {
-        return nestOpt(projection.getName(), projection, nestedValidatorFunc);
+        return nestOpt(projection.getName(), cached(projection), nestedValidatorFunc);
     }
 
     public <U, V extends Validator<U, ?>> SELF nestOpt(ProjectionOpt<T, U> projection, Function<U, V> nestedValidatorFunc) {
-        return projection.apply(getValue())
-                .map(attr -> nestOpt(projection.getName(), $_ -> attr, nestedValidatorFunc))
-                .orElse(self);
+        if (isStopped()) {
+            return self;
+        }
+        U val = project(projection, projection).orElse(null);
+
+        if (val != null) {
+            nestValue(projection.getName(), val, nestedValidatorFunc);
+        }
+
+        return self;
+    }
+
+    private <U, V extends Validator<U, ?>> void nestValue(String fieldName, U val, Function<U, V> nestedValidatorFunc) {
+        VisitTracker tracker = visitTracker != null ? visitTracker : VisitTracker.current();
+        if (tracker == null) {
+            nestUntracked(fieldName, val, withRemainingViolations(nestedValidatorFunc));
+        } else if (tracker.isTooDeep()) {
+            addViolation(ValidatorViolation.fromErrors(fieldName, tracker.getMaxDepthErrors()));
+        } else {
+            List<ValidatorViolation> nestedViolations = tracker.nest(val, withRemainingViolations(nestedValidatorFunc));
+            if (nestedViolations.isEmpty()) {
+                return;
+            }
+            if (flatViolations != null) {
+                flatViolations.addNested(fieldName, nestedViolations);
+            } else {
+                addViolation(ValidatorViolation.fromViolations(fieldName, nestedViolations));
+            }
+        }
+    }
+
+    /**
+     * A nested {@link ValidatorSpec} is evaluated with the violations left by the {@link StopPolicy} of this validator,
+     * so a fail fast validator stops inside the nested value at its first violation. Validators created by other
+     * functions keep their own policy.
+     */
+    @SuppressWarnings("unchecked")
+    private <U, V extends Validator<U, ?>> Function<U, ? extends Validator<U, ?>> withRemainingViolations(Function<U, V> nestedValidatorFunc) {
+        if (!(nestedValidatorFunc instanceof ValidatorSpec) || !stopPolicy.isLimited()) {
+            return nestedValidatorFunc;
+        }
+        ValidatorSpec<U> spec = (ValidatorSpec<U>) nestedValidatorFunc;
+        StopPolicy nestedPolicy = stopPolicy.remaining(violationCount());
+        boolean flat = flatViolations != null;
+        return val -> spec.apply(val, v -> {
+            Validator<U, ?> nested = Validator.of(v).withStopPolicy(nestedPolicy);
+            return flat ? nested.withFlatViolations() : nested;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <U> void nestUntracked(String fieldName, U val, Function<U, ? extends Validator<U, ?>> nestedValidatorFunc) {
+        if (flatViolations != null) {
+            Validator<U, ?> nested = nestedValidatorFunc instanceof ValidatorSpec
+                    ? ((ValidatorSpec<U>) nestedValidatorFunc).applyFlat(val)
+                    : nestedValidatorFunc.apply(val);
+            if (nested.flatViolations != null) {
+                if (nested.hasViolations()) {
+                    flatViolations.addNested(fieldName, nested.flatViolations);
+                }
+            } else if (nested.hasViolations()) {
+                flatViolations.addNested(fieldName, nested.getViolations());
+            }
+            return;
+        }
+        List<ValidatorViolation> nestedViolations = nestedValidatorFunc.apply(val).getViolations();
+        if (!nestedViolations.isEmpty()) {
+            ValidatorViolation violation = ValidatorViolation.fromViolations(fieldName, nestedViolations);
+            addViolation(violation);
+        }
+    }
+
+    static <T, L, R> Function<T, List<Pair<L, R>>> entries(Function<T, Map<L, R>> projection) {
+        return projection.andThen(xs -> xs == null ? null : xs.entrySet().stream()
+                .map(e -> new Pair<>(e.getKey(), e.getValue()))
+                .collect(toList()));
     }
 
     // MARK: CONDITIONAL VALIDATION
 
     public SELF validateWhen(Predicate<T> predicate, Consumer<SELF> validatorConsumer) {
+        if (isStopped()) {
+            return self;
+        }
         if (predicate.test(getValue())) {
             validatorConsumer.accept(self);
         }
@@ -408,26 +1044,144 @@ public class Validator<T, SELF extends Validator<T, SELF>> {
         return self;
     }
 
+    /**
+     * Applies the rules of the {@code validatorConsumer} when the field of the {@code projection} satisfies the
+     * {@code predicate}.
+     */
+    public <U> SELF validateWhen(Projection<T, U> projection, Predicate<U> predicate, Consumer<SELF> validatorConsumer) {
+        if (isStopped()) {
+            return self;
+        }
+        if (predicate.test(project(projection, projection))) {
+            validatorConsumer.accept(self);
+        }
+
+        return self;
+    }
+
+    /**
+     * @return short-circuit evaluation of a constraint group when the {@link StopPolicy} allows adaptive ordering
+     */
+    private <U> Function<U, List<String>> adaptive(Function<U, List<String>> validation) {
+        if (stopPolicy.isAdaptiveOrdering() && validation instanceof Constraints) {
+            return ((Constraints<U>) validation)::applyFirst;
+        }
+        return validation;
+    }
+
+    private <U> Function<T, U> cached(Projection<T, U> projection) {
+        return projectionCache == null ? projection : $_ -> project(projection, projection);
+    }
+
+    @SuppressWarnings("unchecked")
+    <U> U project(LambdaMethodReferenceReflection reference, Function<T, U> projection) {
+        if (projectionCache == null) {
+            return projection.apply(getValue());
+        }
+        Object key = reference.getAccessor();
+        if (key == null) {
+            if (!NamedProjection.isNamed(reference)) {
+                return projection.apply(getValue());
+            }
+            // the getter of a named projection may be any function, its value is kept by the instance
+            key = reference;
+        }
+        Object attr = projectionCache.getOrDefault(key, MISSING);
+        if (attr == MISSING) {
+            attr = projection.apply(getValue());
+            projectionCache.put(key, attr);
+        }
+        return (U) attr;
+    }
+
+    /**
+     * Prepares this validator to validate the next record of a batch, see {@link ValidatorSpec#validateAll(Iterator)}.
+     * The violations of the previous record are not cleared but left to the caller of {@link #getViolations()}, so a
+     * record without violations allocates nothing; the projection cache, flat violations and visit tracking, when
+     * enabled, start over for the new value.
+     */
+    void reset(@NonNull T value) {
+        this.value = value;
+        violations = null;
+        if (projectionCache != null) {
+            projectionCache.clear();
+        }
+        if (flatViolations != null) {
+            flatViolations = new FlatViolations.Builder();
+        }
+        if (visitTracker != null) {
+            visitTracker = new VisitTracker(visitTracker.getMaxDepth(), value);
+        }
+    }
+
     protected T getValue() {
         return value;
     }
 
     protected List<ValidatorViolation> getViolations() {
-        return violations;
+        if (flatViolations != null) {
+            return flatViolations.build().toTree();
+        }
+        return violations != null ? violations : emptyList();
+    }
+
+    /**
+     * @return violations as {@code (path, message)} entries, see {@link FlatViolations}
+     */
+    public FlatViolations getFlatViolations() {
+        return flatViolations != null
+                ? flatViolations.build()
+                : FlatViolations.fromTree(getViolations());
     }
 
     protected void addViolation(ValidatorViolation violation) {
+        if (flatViolations != null) {
+            flatViolations.add(violation);
+            return;
+        }
+        if (violations == null) {
+            violations = new ArrayList<>();
+        }
         violations.add(violation);
     }
 
+    private void addNotNullViolation(String fieldName) {
+        addViolation(ValidatorViolation.fromErrors(fieldName, singletonList(getNotNullMessage())));
+    }
+
     protected boolean hasViolations() {
-        return !violations.isEmpty();
+        return violationCount() > 0;
+    }
+
+    int violationCount() {
+        if (flatViolations != null) {
+            return flatViolations.violationCount();
+        }
+        return violations != null ? violations.size() : 0;
+    }
+
+    /**
+     * @return {@code true} when the {@link StopPolicy} limit is reached and the remaining rules are skipped
+     */
+    protected boolean isStopped() {
+        return stopPolicy.isReached(violationCount());
     }
 
     protected String getNotNullMessage() {
         return NOT_NULL_MESSAGE;
     }
 
+    /**
+     * Terminal operation that does not throw.
+     *
+     * @return the validated object or its violations
+     */
+    public ValidationResult<T> toResult() {
+        return hasViolations()
+                ? ValidationResult.invalid(getViolations())
+                : ValidationResult.valid(getValue());
+    }
+
     /**
      * @return object that was validated
      */
@@ -437,20 +1191,4 @@ public class Validator<T, SELF extends Validator<T, SELF>> {
         }
         return getValue();
     }
-
-    @RequiredArgsConstructor
-    private static class InternalConstraintFactory<U> implements ConstraintFactory<U> {
-
-        private final List<Function<U, List<String>>> constraints;
-
-        @Override
-        public void addPredicate(Predicate<U> predicate, String message) {
-            constraints.add(val -> predicate.test(val) ? emptyList() : singletonList(message));
-        }
-
-        @Override
-        public void addFunction(Function<U, List<String>> validationFunction) {
-            constraints.add(validationFunction);
-        }
-    }
 }
@@ -0,0 +1,33 @@
+package com.github.bduisenov;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Violation of a map entry, addressed by its key. {@link #getKeyErrors()} holds the errors of the key,
+ * {@link #getErrors()} the errors of the value; either is {@code null} when that part is valid.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode(callSuper = true)
+public class ValidatorMapViolation extends ValidatorViolation {
+
+    private final Object key;
+
+    private final List<String> keyErrors;
+
+    public ValidatorMapViolation(String fieldName, Object key, List<String> keyErrors, List<String> errors) {
+        super(fieldName, errors, null);
+        this.key = key;
+        this.keyErrors = keyErrors;
+    }
+
+    public static ValidatorViolation fromEntryErrors(String fieldName, Object key, List<String> keyErrors, List<String> valueErrors) {
+        return new ValidatorMapViolation(fieldName, key,
+                keyErrors.isEmpty() ? null : keyErrors,
+                valueErrors.isEmpty() ? null : valueErrors);
+    }
+}
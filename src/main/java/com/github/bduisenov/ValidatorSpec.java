@@ -0,0 +1,1027 @@
+package com.github.bduisenov;
+
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+
+/**
+ * Compiled set of validation rules, that is built once with the same fluent API as {@link Validator} and then applied
+ * to any number of values.
+ * <p>
+ * Constraint groups are compiled, projection names are resolved and nested rule sets are built when the spec is
+ * built, so {@link #apply(Object)} only evaluates the rules. A spec is immutable and can be shared between threads
+ * as long as the provided projections and predicates are thread safe.
+ * <pre>{@code
+ * ValidatorSpec<User> spec = ValidatorSpec.<User>builder()
+ *     .validate(User::getName, Objects::nonNull, "Name must not be null")
+ *     .validateOpt(User::getEmail, not(String::isEmpty), "Email must be non empty value")
+ *     .build();
+ *
+ * User validatedUser = spec.apply(user).getOrThrow();
+ * }</pre>
+ *
+ * @param <T> type of the validated value
+ */
+public final class ValidatorSpec<T> implements Function<T, Validator<T, ?>> {
+
+    private final Step<T>[] steps;
+
+    /**
+     * Results of {@link #apply(Object)}, {@code null} when results are not cached.
+     */
+    private final ValidationCache<T> cache;
+
+    /**
+     * Specs of the validation groups by group name, see {@link #group(String)}.
+     */
+    private final Map<String, ValidatorSpec<T>> groups;
+
+    /**
+     * Whether some rule nests a validator, only then {@link #isValid(Object)} tracks the checked values.
+     */
+    private final boolean nests;
+
+    private ValidatorSpec(Step<T>[] steps, ValidationCache<T> cache, Map<String, ValidatorSpec<T>> groups) {
+        this.steps = steps;
+        this.cache = cache;
+        this.groups = groups;
+        this.nests = Arrays.stream(steps).anyMatch(step -> step.kind.startsWith("nest"));
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * @param value object to be validated
+     * @return validator holding the violations of the {@code value}
+     */
+    @Override
+    public Validator<T, ?> apply(@NonNull T value) {
+        Validator<T, ?> validator = Validator.of(value);
+        if (cache == null) {
+            evaluate(validator);
+            return validator;
+        }
+
+        Object key = cache.key(value);
+        List<ValidatorViolation> violations = cache.get(key);
+        if (violations != null) {
+            violations.forEach(validator::addViolation);
+        } else {
+            evaluate(validator);
+            cache.put(key, validator.getViolations());
+        }
+        return validator;
+    }
+
+    /**
+     * Validates a value nested into a validator that collects {@link FlatViolations}, see
+     * {@link Validator#withFlatViolations()}.
+     */
+    Validator<T, ?> applyFlat(T value) {
+        if (cache != null) {
+            return apply(value);
+        }
+        Validator<T, ?> validator = Validator.of(value).withFlatViolations();
+        evaluate(validator);
+        return validator;
+    }
+
+    /**
+     * @param value            object to be validated
+     * @param validatorFactory creates the validator the rules are evaluated with, e.g. a custom {@link Validator} or
+     *                         one with a {@link StopPolicy}
+     * @param <V>
+     * @return validator holding the violations of the {@code value}
+     */
+    public <V extends Validator<T, ?>> V apply(@NonNull T value, @NonNull Function<T, V> validatorFactory) {
+        V validator = validatorFactory.apply(value);
+        evaluate(validator);
+        return validator;
+    }
+
+    /**
+     * Returns a copy of this spec that reports the invocations, failures and running time of every rule to the
+     * {@code metrics}. A spec without metrics evaluates its rules directly.
+     * <p>
+     * Every {@code validateWhen} block is reported by its position among the blocks of the spec, e.g.
+     * {@code validateWhen[0]}, and its rules with the block as prefix, e.g. {@code validateWhen[0].validate}. The
+     * rules of a nested {@link ValidatorSpec} are reported with the nesting field as prefix, e.g. {@code address.city}.
+     *
+     * @param metrics
+     * @return instrumented spec, this spec is not changed
+     */
+    public ValidatorSpec<T> withMetrics(@NonNull ValidationMetrics metrics) {
+        Step<T>[] instrumented = newSteps(steps.length);
+        for (int i = 0; i < steps.length; i++) {
+            instrumented[i] = steps[i].instrument(metrics);
+        }
+        return new ValidatorSpec<>(instrumented, cache, mapGroups(group -> group.withMetrics(metrics)));
+    }
+
+    /**
+     * Returns a copy of this spec that stores the results of {@link #apply(Object)} in the {@code cache}. A value
+     * with a cached result is not validated again. Other methods of the spec and the specs of validation groups don't
+     * use the cache.
+     *
+     * @param cache cache of this spec, it can't be attached to another spec
+     * @return caching spec, this spec is not changed
+     * @throws IllegalStateException when the cache is already attached to another spec
+     */
+    public ValidatorSpec<T> withCache(@NonNull ValidationCache<T> cache) {
+        cache.attach(steps);
+        return new ValidatorSpec<>(steps, cache, groups);
+    }
+
+    // MARK: VALIDATION GROUPS
+
+    /**
+     * Returns the spec of a validation group declared with {@link Builder#group(String, Consumer)}: the rules outside
+     * of any group and the rules of the group, in declaration order. Specs of groups are built together with this
+     * spec, so selecting a group is a lookup and the rules of other groups are not evaluated at all.
+     *
+     * @param name name of the group
+     * @return spec of the group
+     * @throws IllegalArgumentException when no group with the {@code name} was declared
+     */
+    public ValidatorSpec<T> group(@NonNull String name) {
+        ValidatorSpec<T> group = groups.get(name);
+        if (group == null) {
+            throw new IllegalArgumentException("Unknown validation group: " + name);
+        }
+        return group;
+    }
+
+    private Map<String, ValidatorSpec<T>> mapGroups(UnaryOperator<ValidatorSpec<T>> mapper) {
+        if (groups.isEmpty()) {
+            return groups;
+        }
+        Map<String, ValidatorSpec<T>> result = new HashMap<>(groups.size() * 2);
+        groups.forEach((name, group) -> result.put(name, mapper.apply(group)));
+        return result;
+    }
+
+    /**
+     * Evaluates the same projections and predicates as {@link #apply(Object)}, but builds no violations and stops at
+     * the first failed rule. Constraint groups are evaluated up to their first failed constraint in a learned order,
+     * see {@link StopPolicy#withAdaptiveOrdering()}. Rules are not instrumented by {@link #withMetrics} and results
+     * are not cached. A nested validator function that is not a {@link ValidatorSpec} is applied as usual.
+     * <p>
+     * Nested values are tracked by identity as with {@link Validator#withVisitTracking()}, but without a depth limit:
+     * a value already being checked higher in the graph is considered valid, so cyclic graphs are checked too.
+     *
+     * @param value object to be validated
+     * @return {@code true} when {@link #apply(Object)} would find no violations
+     */
+    public boolean isValid(@NonNull T value) {
+        if (!nests || VisitTracker.current() != null) {
+            return checkSteps(value);
+        }
+        return new VisitTracker(Integer.MAX_VALUE, value).checkRoot(value, this);
+    }
+
+    /**
+     * Check of a value nested by another spec, see {@link #isValid(Object)}.
+     */
+    private boolean isNestedValid(T value) {
+        VisitTracker tracker = VisitTracker.current();
+        return tracker == null ? isValid(value) : tracker.check(value, this);
+    }
+
+    boolean checkSteps(T value) {
+        for (Step<T> step : steps) {
+            if (!step.check.test(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // MARK: INCREMENTAL VALIDATION
+
+    /**
+     * Validates the value and keeps the violations of every rule apart, so that the result can be revalidated after
+     * a change of some fields, see {@link IncrementalResult#revalidate(Object, Collection)}. Rules are evaluated with
+     * a plain {@link Validator}, the cache of this spec is not used.
+     *
+     * @param value object to be validated
+     * @return violations of the {@code value}
+     */
+    @SuppressWarnings("unchecked")
+    public IncrementalResult<T> validateIncrementally(@NonNull T value) {
+        Validator<T, ?> validator = Validator.of(value);
+        List<ValidatorViolation>[] slices = (List<ValidatorViolation>[]) new List<?>[steps.length];
+        for (int i = 0; i < steps.length; i++) {
+            slices[i] = evaluate(validator, steps[i]);
+        }
+        return new IncrementalResult<>(this, value, slices);
+    }
+
+    @SuppressWarnings("unchecked")
+    IncrementalResult<T> revalidate(T value, List<ValidatorViolation>[] previous, Collection<String> changedFields) {
+        Validator<T, ?> validator = Validator.of(value);
+        List<ValidatorViolation>[] slices = (List<ValidatorViolation>[]) new List<?>[steps.length];
+        for (int i = 0; i < steps.length; i++) {
+            slices[i] = steps[i].dependsOn(changedFields) ? evaluate(validator, steps[i]) : previous[i];
+        }
+        return new IncrementalResult<>(this, value, slices);
+    }
+
+    /**
+     * @return violations added by the step
+     */
+    private static <T> List<ValidatorViolation> evaluate(Validator<T, ?> validator, Step<T> step) {
+        int from = validator.violationCount();
+        step.rule.evaluate(validator);
+        int to = validator.violationCount();
+        return from == to ? emptyList() : new ArrayList<>(validator.getViolations().subList(from, to));
+    }
+
+    // MARK: BATCH VALIDATION
+
+    /**
+     * Validates every record of the batch with one validator that is reset between records, keeping only the
+     * violations of the invalid records.
+     *
+     * @param values records to be validated, must not contain {@code null}
+     * @return validity of every record and violations of the invalid ones
+     */
+    public BatchResult validateAll(@NonNull Iterator<? extends T> values) {
+        return validateBatch(values).build();
+    }
+
+    /**
+     * @see #validateAll(Iterator)
+     */
+    public BatchResult validateAll(@NonNull Collection<? extends T> values) {
+        return validateAll(values.iterator());
+    }
+
+    /**
+     * Consumes the stream in encounter order.
+     *
+     * @see #validateAll(Iterator)
+     */
+    public BatchResult validateAll(@NonNull Stream<? extends T> values) {
+        return validateAll(values.iterator());
+    }
+
+    /**
+     * Validates chunks of a large batch concurrently, each chunk with its own reused validator.
+     *
+     * @param values      records to be validated, must not contain {@code null}
+     * @param parallelism defines the executor, the minimal batch size and the chunk size
+     * @return the same result as {@link #validateAll(Iterator)}
+     */
+    public BatchResult validateAll(@NonNull List<? extends T> values, @NonNull Parallelism parallelism) {
+        if (!parallelism.isApplicable(values)) {
+            return validateAll(values.iterator());
+        }
+
+        List<CompletableFuture<BatchResult.Builder>> chunks = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += parallelism.getChunkSize()) {
+            List<? extends T> chunk = values.subList(from, Math.min(from + parallelism.getChunkSize(), values.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> validateBatch(chunk.iterator()), parallelism.getExecutor()));
+        }
+
+        BatchResult.Builder result = new BatchResult.Builder();
+        for (CompletableFuture<BatchResult.Builder> chunk : chunks) {
+            result.addAll(Validator.join(chunk));
+        }
+        return result.build();
+    }
+
+    private BatchResult.Builder validateBatch(Iterator<? extends T> values) {
+        BatchResult.Builder result = new BatchResult.Builder();
+        Validator<T, ?> validator = null;
+        while (values.hasNext()) {
+            T value = Objects.requireNonNull(values.next(), "values must not contain null");
+            if (validator == null) {
+                validator = Validator.of(value);
+            } else {
+                validator.reset(value);
+            }
+            evaluate(validator);
+            result.add(validator);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Step<T>[] newSteps(int length) {
+        return (Step<T>[]) new Step<?>[length];
+    }
+
+    void evaluate(Validator<T, ?> validator) {
+        for (Step<T> step : steps) {
+            if (validator.isStopped()) {
+                return;
+            }
+            step.rule.evaluate(validator);
+        }
+    }
+
+    /**
+     * Single compiled validation step.
+     *
+     * @param <T> type of the validated value
+     */
+    @FunctionalInterface
+    interface Rule<T> {
+
+        void evaluate(Validator<T, ?> validator);
+    }
+
+    /**
+     * Rule together with the field and the builder method it was declared with.
+     *
+     * @param <T> type of the validated value
+     */
+    static final class Step<T> {
+
+        private final String fieldName;
+
+        private final String kind;
+
+        /**
+         * Fields read by the rule, {@code null} when the rule reads the whole value.
+         */
+        private final String[] dependencies;
+
+        private final Rule<T> rule;
+
+        /**
+         * Same projections and predicates as the rule, without collecting violations, see {@link #isValid(Object)}.
+         */
+        private final Predicate<T> check;
+
+        /**
+         * Makes the rule with its nested spec instrumented, {@code null} when the rule has no nested spec.
+         */
+        private final Function<ValidationMetrics, Rule<T>> instrumentedRule;
+
+        Step(String fieldName, String kind, String[] dependencies, Rule<T> rule, Predicate<T> check,
+             Function<ValidationMetrics, Rule<T>> instrumentedRule) {
+            this.fieldName = fieldName;
+            this.kind = kind;
+            this.dependencies = dependencies;
+            this.rule = rule;
+            this.check = check;
+            this.instrumentedRule = instrumentedRule;
+        }
+
+        Step<T> withKind(String kind) {
+            return new Step<>(fieldName, kind, dependencies, rule, check, instrumentedRule);
+        }
+
+        boolean dependsOn(Collection<String> changedFields) {
+            if (dependencies == null) {
+                return !changedFields.isEmpty();
+            }
+            for (String changedField : changedFields) {
+                for (String dependency : dependencies) {
+                    if (isPathOf(changedField, dependency)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return {@code true} when the {@code path} is the {@code field} or a path nested into it
+         */
+        private static boolean isPathOf(String path, String field) {
+            if (!path.startsWith(field)) {
+                return false;
+            }
+            if (path.length() == field.length()) {
+                return true;
+            }
+            char separator = path.charAt(field.length());
+            return separator == '.' || separator == '[' || separator == '{';
+        }
+
+        Step<T> instrument(ValidationMetrics metrics) {
+            ValidationMetrics.Recorder recorder = metrics.recorder(fieldName, kind);
+            Rule<T> rule = instrumentedRule != null ? instrumentedRule.apply(nestedMetrics(metrics)) : this.rule;
+            return new Step<>(fieldName, kind, dependencies, validator -> {
+                int violationCount = validator.violationCount();
+                long start = System.nanoTime();
+                rule.evaluate(validator);
+                recorder.record(System.nanoTime() - start, validator.violationCount() > violationCount);
+            }, check, instrumentedRule);
+        }
+
+        /**
+         * @return metrics of the nested rules: rules of a {@code validateWhen} block are named after the block, e.g.
+         * {@code validateWhen[0].validate}, fields of a nested spec are prefixed with the field of this rule
+         */
+        private ValidationMetrics nestedMetrics(ValidationMetrics metrics) {
+            if (fieldName.isEmpty()) {
+                String prefix = kind + '.';
+                return (field, rule) -> metrics.recorder(field, prefix + rule);
+            }
+            String prefix = fieldName + '.';
+            return (field, rule) -> metrics.recorder(field.isEmpty() ? fieldName : prefix + field, rule);
+        }
+    }
+
+    /**
+     * Rule nesting a value with the given validator function.
+     */
+    @FunctionalInterface
+    private interface NestedRule<T, U> {
+
+        Rule<T> of(Function<U, ? extends Validator<U, ?>> nestedValidatorFunc);
+    }
+
+    /**
+     * Collects the rules of a {@link ValidatorSpec}. Every method mirrors the {@link Validator} method with the
+     * same signature.
+     *
+     * @param <T> type of the validated value
+     */
+    public static final class Builder<T> {
+
+        private final List<Step<T>> steps = new ArrayList<>();
+
+        /**
+         * Validation groups of every step, {@code null} for a step outside of any group.
+         */
+        private final List<Set<String>> stepGroups = new ArrayList<>();
+
+        private final Set<String> declaredGroups = new HashSet<>();
+
+        private Builder() {
+        }
+
+        public Builder<T> validate(@NonNull String fieldName, @NonNull Predicate<T> validation, @NonNull String message) {
+            return add(fieldName, "validate", null, validator -> validator.validate(fieldName, validation, message),
+                    validation);
+        }
+
+        public <U> Builder<T> validate(String fieldName, Function<T, U> projection, Predicate<U> validation, String message) {
+            return add(fieldName, "validate", dependencies(projection), validator -> validator.validate(fieldName, projection, validation, message),
+                    required(projection, validation));
+        }
+
+        public <U> Builder<T> validate(Projection<T, U> projection, Predicate<U> validation, String message) {
+            return validate(projection.getName(), projection, validation, message);
+        }
+
+        public <U> Builder<T> validate(Projection<T, U> projection, Pair<Predicate<U>, String> predicateAndMessage) {
+            return validate(projection.getName(), projection, predicateAndMessage._1(), predicateAndMessage._2());
+        }
+
+        public <U> Builder<T> validateOpt(String fieldName, Function<T, U> projection, Predicate<U> validation, String message) {
+            return add(fieldName, "validateOpt", dependencies(projection), validator -> validator.validateOpt(fieldName, projection, validation, message),
+                    optional(projection, validation));
+        }
+
+        public <U> Builder<T> validateOpt(Projection<T, U> projection, Predicate<U> validation, String message) {
+            return validateOpt(projection.getName(), projection, validation, message);
+        }
+
+        public <U> Builder<T> validateOpt(Projection<T, U> projection, Pair<Predicate<U>, String> predicateAndMessage) {
+            return validateOpt(projection.getName(), projection, predicateAndMessage._1(), predicateAndMessage._2());
+        }
+
+        public <U> Builder<T> validateOpt(ProjectionOpt<T, U> projection, Predicate<U> validation, String message) {
+            return validateOpt(projection.getName(), unwrap(projection), validation, message);
+        }
+
+        public <U> Builder<T> validate(String fieldName, Function<T, U> projection, Function<U, List<String>> validation) {
+            return add(fieldName, "validate", dependencies(projection), validator -> validator.validate(fieldName, projection, validation),
+                    required(projection, passes(validation)));
+        }
+
+        public <U> Builder<T> validate(Projection<T, U> projection, Function<U, List<String>> validation) {
+            return validate(projection.getName(), projection, validation);
+        }
+
+        public <U> Builder<T> validate(String fieldName, Function<T, U> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+            return validate(fieldName, projection, Constraints.of(constraintsFactoryConsumer));
+        }
+
+        public <U> Builder<T> validate(Projection<T, U> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+            return validate(projection.getName(), projection, constraintsFactoryConsumer);
+        }
+
+        // MARK: LIST VALIDATION
+
+        public <U> Builder<T> validateList(String fieldName, Function<T, List<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+            Constraints<U> constraints = Constraints.of(constraintsFactoryConsumer);
+            return add(fieldName, "validateList", dependencies(projection), validator -> validator.validateElements(fieldName, projection, constraints),
+                    required(projection, xs -> all(xs, constraints)));
+        }
+
+        public <U> Builder<T> validateList(Projection<T, List<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+            return validateList(projection.getName(), projection, constraintsFactoryConsumer);
+        }
+
+        public <U> Builder<T> validateListOpt(String fieldName, Function<T, List<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+            Constraints<U> constraints = Constraints.of(constraintsFactoryConsumer);
+            return add(fieldName, "validateListOpt", dependencies(projection), validator -> validator.validateElementsOpt(fieldName, projection, constraints),
+                    optional(projection, xs -> all(xs, constraints)));
+        }
+
+        public <U> Builder<T> validateListOpt(Projection<T, List<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+            return validateListOpt(projection.getName(), projection, constraintsFactoryConsumer);
+        }
+
+        // MARK: ITERABLE VALIDATION
+
+        public <U> Builder<T> validateIterable(String fieldName, Function<T, ? extends Iterable<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+            Constraints<U> constraints = Constraints.of(constraintsFactoryConsumer);
+            return add(fieldName, "validateIterable", dependencies(projection), validator -> validator.validateIterableElements(fieldName, projection, constraints),
+                    required(projection, xs -> all(xs, constraints)));
+        }
+
+        public <U> Builder<T> validateIterable(Projection<T, ? extends Iterable<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+            return validateIterable(projection.getName(), projection, constraintsFactoryConsumer);
+        }
+
+        public <U> Builder<T> validateIterableOpt(String fieldName, Function<T, ? extends Iterable<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+            Constraints<U> constraints = Constraints.of(constraintsFactoryConsumer);
+            return add(fieldName, "validateIterableOpt", dependencies(projection), validator -> validator.validateIterableElementsOpt(fieldName, projection, constraints),
+                    optional(projection, xs -> all(xs, constraints)));
+        }
+
+        public <U> Builder<T> validateIterableOpt(Projection<T, ? extends Iterable<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+            return validateIterableOpt(projection.getName(), projection, constraintsFactoryConsumer);
+        }
+
+        public <U> Builder<T> validateStream(String fieldName, Function<T, ? extends Stream<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+            return validateIterable(fieldName, derived(projection, Validator.iterable(projection)), constraintsFactoryConsumer);
+        }
+
+        public <U> Builder<T> validateStream(Projection<T, ? extends Stream<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+            return validateStream(projection.getName(), projection, constraintsFactoryConsumer);
+        }
+
+        public <U> Builder<T> validateStreamOpt(String fieldName, Function<T, ? extends Stream<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+            return validateIterableOpt(fieldName, derived(projection, Validator.iterable(projection)), constraintsFactoryConsumer);
+        }
+
+        public <U> Builder<T> validateStreamOpt(Projection<T, ? extends Stream<U>> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+            return validateStreamOpt(projection.getName(), projection, constraintsFactoryConsumer);
+        }
+
+        // MARK: MAP VALIDATION
+
+        public <L, R> Builder<T> validateMap(String fieldName, Function<T, Map<L, R>> projection, Consumer<ConstraintFactory<Pair<L, R>>> constraintsFactoryConsumer) {
+            return validateList(fieldName, derived(projection, Validator.entries(projection)), constraintsFactoryConsumer);
+        }
+
+        public <L, R> Builder<T> validateMap(Projection<T, Map<L, R>> projection, Consumer<ConstraintFactory<Pair<L, R>>> constraintsFactoryConsumer) {
+            return validateMap(projection.getName(), projection, constraintsFactoryConsumer);
+        }
+
+        public <L, R> Builder<T> validateMapOpt(String fieldName, Function<T, Map<L, R>> projection, Consumer<ConstraintFactory<Pair<L, R>>> constraintsFactoryConsumer) {
+            return validateListOpt(fieldName, derived(projection, Validator.entries(projection)), constraintsFactoryConsumer);
+        }
+
+        public <L, R> Builder<T> validateMapOpt(Projection<T, Map<L, R>> projection, Consumer<ConstraintFactory<Pair<L, R>>> constraintsFactoryConsumer) {
+            return validateMapOpt(projection.getName(), projection, constraintsFactoryConsumer);
+        }
+
+        public <L, R> Builder<T> validateMap(String fieldName, Function<T, Map<L, R>> projection,
+                                             Consumer<ConstraintFactory<L>> keyConstraintsFactoryConsumer,
+                                             Consumer<ConstraintFactory<R>> valueConstraintsFactoryConsumer) {
+            Constraints<L> keyConstraints = Constraints.of(keyConstraintsFactoryConsumer);
+            Constraints<R> valueConstraints = Constraints.of(valueConstraintsFactoryConsumer);
+            return add(fieldName, "validateMap", dependencies(projection), validator -> validator.validateEntries(fieldName, projection, keyConstraints, valueConstraints),
+                    required(projection, xs -> all(xs, keyConstraints, valueConstraints)));
+        }
+
+        public <L, R> Builder<T> validateMap(Projection<T, Map<L, R>> projection,
+                                             Consumer<ConstraintFactory<L>> keyConstraintsFactoryConsumer,
+                                             Consumer<ConstraintFactory<R>> valueConstraintsFactoryConsumer) {
+            return validateMap(projection.getName(), projection, keyConstraintsFactoryConsumer, valueConstraintsFactoryConsumer);
+        }
+
+        public <L, R> Builder<T> validateMapOpt(String fieldName, Function<T, Map<L, R>> projection,
+                                                Consumer<ConstraintFactory<L>> keyConstraintsFactoryConsumer,
+                                                Consumer<ConstraintFactory<R>> valueConstraintsFactoryConsumer) {
+            Constraints<L> keyConstraints = Constraints.of(keyConstraintsFactoryConsumer);
+            Constraints<R> valueConstraints = Constraints.of(valueConstraintsFactoryConsumer);
+            return add(fieldName, "validateMapOpt", dependencies(projection), validator -> validator.validateEntriesOpt(fieldName, projection, keyConstraints, valueConstraints),
+                    optional(projection, xs -> all(xs, keyConstraints, valueConstraints)));
+        }
+
+        public <L, R> Builder<T> validateMapOpt(Projection<T, Map<L, R>> projection,
+                                                Consumer<ConstraintFactory<L>> keyConstraintsFactoryConsumer,
+                                                Consumer<ConstraintFactory<R>> valueConstraintsFactoryConsumer) {
+            return validateMapOpt(projection.getName(), projection, keyConstraintsFactoryConsumer, valueConstraintsFactoryConsumer);
+        }
+
+        public <U> Builder<T> validateOpt(String fieldName, Function<T, U> projection, Function<U, List<String>> validation) {
+            return add(fieldName, "validateOpt", dependencies(projection), validator -> validator.validateOpt(fieldName, projection, validation),
+                    optional(projection, passes(validation)));
+        }
+
+        public <U> Builder<T> validateOpt(Projection<T, U> projection, Function<U, List<String>> validation) {
+            return validateOpt(projection.getName(), projection, validation);
+        }
+
+        public <U> Builder<T> validateOpt(ProjectionOpt<T, U> projection, Function<U, List<String>> validation) {
+            return validateOpt(projection.getName(), unwrap(projection), validation);
+        }
+
+        public <U> Builder<T> validateOpt(String fieldName, Function<T, U> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+            return validateOpt(fieldName, projection, Constraints.of(constraintsFactoryConsumer));
+        }
+
+        public <U> Builder<T> validateOpt(Projection<T, U> projection, Consumer<ConstraintFactory<U>> constraintsFactoryConsumer) {
+            return validateOpt(projection.getName(), projection, constraintsFactoryConsumer);
+        }
+
+        // MARK: PRIMITIVE VALIDATION
+
+        public Builder<T> validateInt(String fieldName, ToIntFunction<T> projection, IntPredicate validation, String message) {
+            return add(fieldName, "validateInt", dependencies(projection), validator -> validator.validateInt(fieldName, projection, validation, message),
+                    value -> validation.test(projection.applyAsInt(value)));
+        }
+
+        public Builder<T> validateInt(IntProjection<T> projection, IntPredicate validation, String message) {
+            return validateInt(projection.getName(), projection, validation, message);
+        }
+
+        public Builder<T> validateInt(String fieldName, ToIntFunction<T> projection, IntFunction<List<String>> validation) {
+            return add(fieldName, "validateInt", dependencies(projection), validator -> validator.validateInt(fieldName, projection, validation),
+                    value -> validation.apply(projection.applyAsInt(value)).isEmpty());
+        }
+
+        public Builder<T> validateInt(IntProjection<T> projection, IntFunction<List<String>> validation) {
+            return validateInt(projection.getName(), projection, validation);
+        }
+
+        public Builder<T> validateLong(String fieldName, ToLongFunction<T> projection, LongPredicate validation, String message) {
+            return add(fieldName, "validateLong", dependencies(projection), validator -> validator.validateLong(fieldName, projection, validation, message),
+                    value -> validation.test(projection.applyAsLong(value)));
+        }
+
+        public Builder<T> validateLong(LongProjection<T> projection, LongPredicate validation, String message) {
+            return validateLong(projection.getName(), projection, validation, message);
+        }
+
+        public Builder<T> validateLong(String fieldName, ToLongFunction<T> projection, LongFunction<List<String>> validation) {
+            return add(fieldName, "validateLong", dependencies(projection), validator -> validator.validateLong(fieldName, projection, validation),
+                    value -> validation.apply(projection.applyAsLong(value)).isEmpty());
+        }
+
+        public Builder<T> validateLong(LongProjection<T> projection, LongFunction<List<String>> validation) {
+            return validateLong(projection.getName(), projection, validation);
+        }
+
+        public Builder<T> validateDouble(String fieldName, ToDoubleFunction<T> projection, DoublePredicate validation, String message) {
+            return add(fieldName, "validateDouble", dependencies(projection), validator -> validator.validateDouble(fieldName, projection, validation, message),
+                    value -> validation.test(projection.applyAsDouble(value)));
+        }
+
+        public Builder<T> validateDouble(DoubleProjection<T> projection, DoublePredicate validation, String message) {
+            return validateDouble(projection.getName(), projection, validation, message);
+        }
+
+        public Builder<T> validateDouble(String fieldName, ToDoubleFunction<T> projection, DoubleFunction<List<String>> validation) {
+            return add(fieldName, "validateDouble", dependencies(projection), validator -> validator.validateDouble(fieldName, projection, validation),
+                    value -> validation.apply(projection.applyAsDouble(value)).isEmpty());
+        }
+
+        public Builder<T> validateDouble(DoubleProjection<T> projection, DoubleFunction<List<String>> validation) {
+            return validateDouble(projection.getName(), projection, validation);
+        }
+
+        // MARK: NESTED VALIDATOR METHODS
+
+        /**
+         * Nested rule sets can be provided as a {@link ValidatorSpec}, which is itself a validator function.
+         */
+        public <U, V extends Validator<U, ?>> Builder<T> nest(String fieldName, Function<T, U> projection, Function<U, V> nestedValidatorFunc) {
+            NestedRule<T, U> rule = func -> validator -> validator.nest(fieldName, projection, func);
+            return add(fieldName, "nest", dependencies(projection), rule.of(nestedValidatorFunc),
+                    required(projection, isValid(nestedValidatorFunc)), instrumented(rule, nestedValidatorFunc));
+        }
+
+        public <U, V extends Validator<U, ?>> Builder<T> nest(Projection<T, U> projection, Function<U, V> nestedValidatorFunc) {
+            return nest(projection.getName(), projection, nestedValidatorFunc);
+        }
+
+        public <U, V extends Validator<U, ?>> Builder<T> nestOpt(String fieldName, Function<T, U> projection, Function<U, V> nestedValidatorFunc) {
+            NestedRule<T, U> rule = func -> validator -> validator.nestOpt(fieldName, projection, func);
+            return add(fieldName, "nestOpt", dependencies(projection), rule.of(nestedValidatorFunc),
+                    optional(projection, isValid(nestedValidatorFunc)), instrumented(rule, nestedValidatorFunc));
+        }
+
+        public <U, V extends Validator<U, ?>> Builder<T> nestOpt(Projection<T, U> projection, Function<U, V> nestedValidatorFunc) {
+            return nestOpt(projection.getName(), projection, nestedValidatorFunc);
+        }
+
+        public <U, V extends Validator<U, ?>> Builder<T> nestOpt(ProjectionOpt<T, U> projection, Function<U, V> nestedValidatorFunc) {
+            return nestOpt(projection.getName(), unwrap(projection), nestedValidatorFunc);
+        }
+
+        // MARK: CONDITIONAL VALIDATION
+
+        public Builder<T> validateWhen(Predicate<T> predicate, Consumer<Builder<T>> builderConsumer) {
+            ValidatorSpec<T> spec = conditional(builderConsumer);
+            Function<ValidatorSpec<T>, Rule<T>> rule = inner -> validator -> {
+                if (predicate.test(validator.getValue())) {
+                    inner.evaluate(validator);
+                }
+            };
+
+            return add("", "validateWhen", null, rule.apply(spec), value -> !predicate.test(value) || spec.isValid(value),
+                    metrics -> rule.apply(spec.withMetrics(metrics)));
+        }
+
+        /**
+         * Unlike a predicate of the whole value, the {@code projection} tells which field the condition reads, so
+         * that {@link IncrementalResult#revalidate(Object, Collection)} evaluates the conditional rules again only
+         * when that field or a field of the rules is changed.
+         */
+        public <U> Builder<T> validateWhen(Projection<T, U> projection, Predicate<U> predicate, Consumer<Builder<T>> builderConsumer) {
+            ValidatorSpec<T> spec = conditional(builderConsumer);
+            Function<ValidatorSpec<T>, Rule<T>> rule = inner -> validator -> {
+                if (predicate.test(validator.project(projection, projection))) {
+                    inner.evaluate(validator);
+                }
+            };
+
+            return add("", "validateWhen", dependencies(projection.getName(), spec.steps), rule.apply(spec),
+                    value -> !predicate.test(projection.apply(value)) || spec.isValid(value),
+                    metrics -> rule.apply(spec.withMetrics(metrics)));
+        }
+
+        private ValidatorSpec<T> conditional(Consumer<Builder<T>> builderConsumer) {
+            Builder<T> builder = new Builder<>();
+            builderConsumer.accept(builder);
+            if (!builder.declaredGroups.isEmpty()) {
+                throw new IllegalStateException("Validation groups can't be declared in validateWhen, declare validateWhen in a group instead");
+            }
+            return builder.build();
+        }
+
+        // MARK: VALIDATION GROUPS
+
+        /**
+         * Declares rules of a validation group. {@link #build()} makes a spec of every group, that is selected with
+         * {@link ValidatorSpec#group(String)}; the spec itself evaluates only the rules outside of any group.
+         * <pre>{@code
+         * ValidatorSpec<User> spec = ValidatorSpec.<User>builder()
+         *     .validateOpt(User::getEmail, not(String::isEmpty), "Email must be non empty value")
+         *     .group("create", create -> create
+         *         .validate(User::getName, Objects::nonNull, "Name must not be null"))
+         *     .group("update", update -> update
+         *         .validate(User::getId, Objects::nonNull, "Id must not be null"))
+         *     .build();
+         *
+         * spec.group("create").apply(user);
+         * }</pre>
+         * A group declared inside another group narrows it to the names of both, names without a common group are
+         * rejected. A group without rules can be declared to select just the rules outside of any group.
+         *
+         * @param name            name of the group
+         * @param builderConsumer declares the rules of the group
+         * @throws IllegalStateException when a nested group has no name in common with the enclosing group
+         */
+        public Builder<T> group(@NonNull String name, @NonNull Consumer<Builder<T>> builderConsumer) {
+            return group(Collections.singleton(name), builderConsumer);
+        }
+
+        /**
+         * Declares rules shared by several validation groups.
+         *
+         * @see #group(String, Consumer)
+         */
+        public Builder<T> group(@NonNull Set<String> names, @NonNull Consumer<Builder<T>> builderConsumer) {
+            Builder<T> builder = new Builder<>();
+            builderConsumer.accept(builder);
+            declaredGroups.addAll(names);
+            declaredGroups.addAll(builder.declaredGroups);
+            for (int i = 0; i < builder.steps.size(); i++) {
+                Set<String> groups = builder.stepGroups.get(i);
+                if (groups == null) {
+                    groups = new HashSet<>(names);
+                } else {
+                    Set<String> nested = groups;
+                    groups = new HashSet<>(groups);
+                    groups.retainAll(names);
+                    if (groups.isEmpty()) {
+                        throw new IllegalStateException("Validation groups " + nested + " can't be declared in groups "
+                                + names + ", they have no group in common");
+                    }
+                }
+                steps.add(builder.steps.get(i));
+                stepGroups.add(groups);
+            }
+            return this;
+        }
+
+        public ValidatorSpec<T> build() {
+            int conditionals = 0;
+            for (int i = 0; i < steps.size(); i++) {
+                Step<T> step = steps.get(i);
+                if ("validateWhen".equals(step.kind)) {
+                    steps.set(i, step.withKind("validateWhen[" + conditionals++ + "]"));
+                }
+            }
+            Map<String, ValidatorSpec<T>> groups = new HashMap<>(declaredGroups.size() * 2);
+            for (String name : declaredGroups) {
+                groups.put(name, new ValidatorSpec<>(select(name).toArray(newSteps(0)), null, emptyMap()));
+            }
+            return new ValidatorSpec<>(select(null).toArray(newSteps(0)), null, groups.isEmpty() ? emptyMap() : groups);
+        }
+
+        /**
+         * @return steps outside of any group and the steps of the group, all steps outside of any group when
+         * {@code name} is {@code null}
+         */
+        private List<Step<T>> select(String name) {
+            List<Step<T>> selected = new ArrayList<>(steps.size());
+            for (int i = 0; i < steps.size(); i++) {
+                Set<String> groups = stepGroups.get(i);
+                if (groups == null || name != null && groups.contains(name)) {
+                    selected.add(steps.get(i));
+                }
+            }
+            return selected;
+        }
+
+        private Builder<T> add(String fieldName, String kind, String[] dependencies, Rule<T> rule, Predicate<T> check) {
+            return add(fieldName, kind, dependencies, rule, check, null);
+        }
+
+        private Builder<T> add(String fieldName, String kind, String[] dependencies, Rule<T> rule, Predicate<T> check,
+                               Function<ValidationMetrics, Rule<T>> instrumentedRule) {
+            steps.add(new Step<>(fieldName, kind, dependencies, rule, check, instrumentedRule));
+            stepGroups.add(null);
+            return this;
+        }
+
+        private static <T, U> Predicate<T> required(Function<T, U> projection, Predicate<U> validation) {
+            return value -> {
+                U attr = projection.apply(value);
+                return attr != null && validation.test(attr);
+            };
+        }
+
+        private static <T, U> Predicate<T> optional(Function<T, U> projection, Predicate<U> validation) {
+            return value -> {
+                U attr = projection.apply(value);
+                return attr == null || validation.test(attr);
+            };
+        }
+
+        private static <U> Predicate<U> passes(Function<U, List<String>> validation) {
+            if (validation instanceof Constraints) {
+                return (Constraints<U>) validation;
+            }
+            return val -> validation.apply(val).isEmpty();
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T, U> Function<ValidationMetrics, Rule<T>> instrumented(NestedRule<T, U> rule, Function<U, ?> nestedValidatorFunc) {
+            if (!(nestedValidatorFunc instanceof ValidatorSpec)) {
+                return null;
+            }
+            ValidatorSpec<U> spec = (ValidatorSpec<U>) nestedValidatorFunc;
+            return metrics -> rule.of(spec.withMetrics(metrics));
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <U, V extends Validator<U, ?>> Predicate<U> isValid(Function<U, V> nestedValidatorFunc) {
+            if (nestedValidatorFunc instanceof ValidatorSpec) {
+                return ((ValidatorSpec<U>) nestedValidatorFunc)::isNestedValid;
+            }
+            return val -> {
+                VisitTracker tracker = VisitTracker.current();
+                if (tracker == null) {
+                    return !nestedValidatorFunc.apply(val).hasViolations();
+                }
+                return !tracker.isTooDeep() && tracker.nest(val, nestedValidatorFunc).isEmpty();
+            };
+        }
+
+        private static <U> boolean all(Iterable<U> xs, Constraints<U> constraints) {
+            if (xs instanceof List && xs instanceof RandomAccess) {
+                List<U> list = (List<U>) xs;
+                for (int i = 0; i < list.size(); i++) {
+                    if (!constraints.test(list.get(i))) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            for (U x : xs) {
+                if (!constraints.test(x)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static <L, R> boolean all(Map<L, R> xs, Constraints<L> keyConstraints, Constraints<R> valueConstraints) {
+            for (Map.Entry<L, R> entry : xs.entrySet()) {
+                if (!keyConstraints.test(entry.getKey()) || !valueConstraints.test(entry.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return the field read by a condition together with the fields of the conditional steps, {@code null} when
+         * a step reads the whole value
+         */
+        private static <T> String[] dependencies(String fieldName, Step<T>[] steps) {
+            List<String> dependencies = new ArrayList<>();
+            dependencies.add(fieldName);
+            for (Step<T> step : steps) {
+                if (step.dependencies == null) {
+                    return null;
+                }
+                dependencies.addAll(Arrays.asList(step.dependencies));
+            }
+            return dependencies.toArray(new String[0]);
+        }
+
+        private static <T, U> Function<T, U> unwrap(ProjectionOpt<T, U> projection) {
+            return derived(projection, value -> projection.apply(value).orElse(null));
+        }
+
+        /**
+         * @return fields read by the {@code projection}: the resolved name of a {@link Projection} or a primitive
+         * projection, {@code null} for other functions, which may read the whole value
+         */
+        private static String[] dependencies(Object projection) {
+            if (projection instanceof DerivedFunction) {
+                return ((DerivedFunction<?, ?>) projection).dependencies;
+            }
+            if (!(projection instanceof LambdaMethodReferenceReflection)) {
+                return null;
+            }
+            try {
+                return new String[]{((LambdaMethodReferenceReflection) projection).getName()};
+            } catch (IllegalArgumentException e) {
+                // a lambda typed as a projection, its fields are unknown
+                return null;
+            }
+        }
+
+        private static <T, U> Function<T, U> derived(Object projection, Function<T, U> function) {
+            return new DerivedFunction<>(dependencies(projection), function);
+        }
+
+        /**
+         * Function that adapts a projection, e.g. unwraps its {@link java.util.Optional}, and reads the same fields.
+         */
+        private static final class DerivedFunction<T, U> implements Function<T, U> {
+
+            private final String[] dependencies;
+
+            private final Function<T, U> function;
+
+            private DerivedFunction(String[] dependencies, Function<T, U> function) {
+                this.dependencies = dependencies;
+                this.function = function;
+            }
+
+            @Override
+            public U apply(T value) {
+                return function.apply(value);
+            }
+        }
+    }
+}
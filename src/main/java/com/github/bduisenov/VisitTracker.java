@@ -0,0 +1,148 @@
+package com.github.bduisenov;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+/**
+ * Identity based record of the objects nested during one validation run, see {@link Validator#withVisitTracking}.
+ * <p>
+ * Nested validators are created by user functions, so the tracker of the root validator is published in a thread
+ * local while a nested value is validated and nested validators pick it up from there.
+ */
+final class VisitTracker {
+
+    static final int DEFAULT_MAX_DEPTH = 64;
+
+    private static final ThreadLocal<VisitTracker> CURRENT = new ThreadLocal<>();
+
+    private final int maxDepth;
+
+    /**
+     * Objects being validated on the current path from the root.
+     */
+    private final Set<Object> inProgress = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Violations of every nested object by the {@link ValidatorSpec}s it was validated with. Results of other
+     * functions are not kept, a capturing lambda or a bound method reference is a new instance on every call.
+     */
+    private final Map<Object, Map<ValidatorSpec<?>, List<ValidatorViolation>>> results = new IdentityHashMap<>();
+
+    private int depth;
+
+    /**
+     * @param root value of the validator the tracker belongs to, never validated again when it is nested
+     */
+    VisitTracker(int maxDepth, Object root) {
+        this.maxDepth = maxDepth;
+        inProgress.add(root);
+    }
+
+    static VisitTracker current() {
+        return CURRENT.get();
+    }
+
+    int getMaxDepth() {
+        return maxDepth;
+    }
+
+    boolean isTooDeep() {
+        return depth >= maxDepth;
+    }
+
+    /**
+     * @return error of a nested object below the maximal depth
+     */
+    List<String> getMaxDepthErrors() {
+        return singletonList("nesting is deeper than " + maxDepth);
+    }
+
+    /**
+     * Boolean counterpart of {@link #nest} for {@link ValidatorSpec#isValid(Object)}.
+     *
+     * @return {@code false} when the {@code spec} finds a violation of the {@code val}, {@code true} when it is valid
+     * or already being checked higher in the graph
+     */
+    <U> boolean check(U val, ValidatorSpec<U> spec) {
+        if (inProgress.contains(val)) {
+            return true;
+        }
+        if (isTooDeep()) {
+            return false;
+        }
+        inProgress.add(val);
+        try {
+            return checkTracked(val, spec, 1);
+        } finally {
+            inProgress.remove(val);
+        }
+    }
+
+    /**
+     * Checks the root value of the tracker with the tracker published to nested checks.
+     */
+    <U> boolean checkRoot(U root, ValidatorSpec<U> spec) {
+        return checkTracked(root, spec, 0);
+    }
+
+    private <U> boolean checkTracked(U val, ValidatorSpec<U> spec, int nesting) {
+        VisitTracker previous = CURRENT.get();
+        CURRENT.set(this);
+        depth += nesting;
+        try {
+            return spec.checkSteps(val);
+        } finally {
+            depth -= nesting;
+            if (previous == null) {
+                CURRENT.remove();
+            } else if (previous != this) {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return violations of the {@code val}, empty when it is valid or already being validated higher in the graph
+     */
+    <U, V extends Validator<U, ?>> List<ValidatorViolation> nest(U val, Function<U, V> nestedValidatorFunc) {
+        if (inProgress.contains(val)) {
+            return emptyList();
+        }
+        Map<ValidatorSpec<?>, List<ValidatorViolation>> specResults = null;
+        if (nestedValidatorFunc instanceof ValidatorSpec) {
+            specResults = results.computeIfAbsent(val, key -> new IdentityHashMap<>(2));
+            List<ValidatorViolation> result = specResults.get(nestedValidatorFunc);
+            if (result != null) {
+                return result;
+            }
+        }
+
+        inProgress.add(val);
+        VisitTracker previous = CURRENT.get();
+        CURRENT.set(this);
+        depth++;
+        List<ValidatorViolation> violations;
+        try {
+            violations = nestedValidatorFunc.apply(val).getViolations();
+        } finally {
+            inProgress.remove(val);
+            depth--;
+            if (previous == null) {
+                CURRENT.remove();
+            } else if (previous != this) {
+                CURRENT.set(previous);
+            }
+        }
+        if (specResults != null) {
+            specResults.put((ValidatorSpec<?>) nestedValidatorFunc, violations);
+        }
+        return violations;
+    }
+}
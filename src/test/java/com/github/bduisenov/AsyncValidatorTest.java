@@ -0,0 +1,131 @@
+package com.github.bduisenov;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.bduisenov.Validator.NOT_NULL_MESSAGE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncValidatorTest {
+
+    static class Account {
+        private final String login;
+        private final String email;
+
+        Account(String login, String email) {
+            this.login = login;
+            this.email = email;
+        }
+
+        public String getLogin() {
+            return login;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+    }
+
+    private static final ValidatorSpec<Account> ACCOUNT_SPEC = ValidatorSpec.<Account>builder()
+            .validate(Account::getLogin, login -> !login.isEmpty(), "may not be empty")
+            .build();
+
+    @Test
+    public void get() {
+        Account account = new Account("login", "mail");
+        Account validated = AsyncValidator.of(account)
+                .validate(ACCOUNT_SPEC)
+                .validate(Account::getEmail, email -> CompletableFuture.completedFuture(Collections.emptyList()))
+                .get().toCompletableFuture().join();
+
+        assertSame(account, validated);
+    }
+
+    @Test
+    public void validateBlocking_defaultExecutor() {
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        AsyncValidator.of(new Account("login", "mail"))
+                .validateBlocking(Account::getEmail, email -> thread.compareAndSet(null, Thread.currentThread()), "not valid")
+                .get().toCompletableFuture().join();
+
+        assertTrue(thread.get().isDaemon());
+        assertFalse(thread.get() instanceof ForkJoinWorkerThread);
+    }
+
+    @Test
+    public void getViolations_inDeclarationOrder() {
+        CompletableFuture<List<String>> slow = new CompletableFuture<>();
+
+        CompletableFuture<List<ValidatorViolation>> violations = AsyncValidator.of(new Account("", null))
+                .validate(Account::getLogin, login -> slow)
+                .validate(ACCOUNT_SPEC)
+                .validate(Account::getEmail, email -> CompletableFuture.completedFuture(Collections.emptyList()))
+                .getViolations().toCompletableFuture();
+
+        assertTrue(!violations.isDone());
+        slow.complete(Collections.singletonList("already taken"));
+
+        List<ValidatorViolation> expected = Arrays.asList(
+                ValidatorViolation.fromErrors("login", Collections.singletonList("already taken")),
+                ValidatorViolation.fromErrors("login", Collections.singletonList("may not be empty")),
+                ValidatorViolation.fromErrors("email", Collections.singletonList(NOT_NULL_MESSAGE)));
+        assertEquals(expected, violations.join());
+    }
+
+    @Test
+    public void validateBlocking_runsConcurrently() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch latch = new CountDownLatch(2);
+        try {
+            CompletableFuture<Account> result = AsyncValidator.of(new Account("login", "mail"))
+                    .withExecutor(executor)
+                    .validateBlocking(Account::getLogin, login -> await(latch), "login lookup failed")
+                    .validateBlocking(Account::getEmail, email -> await(latch), "email lookup failed")
+                    .get().toCompletableFuture();
+
+            assertEquals("login", result.join().getLogin());
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void get_failed() {
+        try {
+            AsyncValidator.of(new Account("", "mail"))
+                    .validate(ACCOUNT_SPEC)
+                    .validateOpt("phone", account -> null, phone -> CompletableFuture.completedFuture(Collections.singletonList("not valid")))
+                    .get().toCompletableFuture().join();
+            fail();
+        } catch (CompletionException e) {
+            ValidatorViolation expected = ValidatorViolation.fromErrors("login", Collections.singletonList("may not be empty"));
+            assertEquals(Collections.singletonList(expected), ((ValidationException) e.getCause()).getViolations());
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.github.bduisenov;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.function.Predicate;
+
+import static com.github.bduisenov.BasicValidations.max;
+import static com.github.bduisenov.BasicValidations.maxLength;
+import static com.github.bduisenov.BasicValidations.min;
+import static com.github.bduisenov.BasicValidations.minLength;
+import static com.github.bduisenov.BasicValidations.size;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BasicValidationsTest {
+
+    private Locale defaultLocale;
+
+    @Before
+    public void setUp() {
+        defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.US);
+    }
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @Test
+    public void min_valid() {
+        assertSame(Collections.emptyList(), min(5, 5));
+        assertSame(Collections.emptyList(), min(5L, 5L));
+        assertSame(Collections.emptyList(), min(5.5, 5.0));
+    }
+
+    @Test
+    public void min_invalid() {
+        assertEquals(Collections.singletonList("must be larger than or equal to 1,000"), min(5, 1000));
+        assertEquals(Collections.singletonList("must be larger than or equal to 1,000"), min(5L, 1000L));
+        assertEquals(Collections.singletonList("custom"), min(5.0, 5.5, "custom"));
+    }
+
+    @Test
+    public void max_bigDecimal_notTruncated() {
+        assertEquals(Collections.singletonList("must be less than or equal to 1"), max(new BigDecimal("1.5"), 1));
+        assertSame(Collections.emptyList(), max(new BigDecimal("1.0"), 1));
+    }
+
+    @Test
+    public void min_bigInteger_notTruncated() {
+        BigInteger val = BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE);
+        assertSame(Collections.emptyList(), min(val, 0));
+        assertEquals(Collections.singletonList("must be less than or equal to 0"), max(val, 0));
+    }
+
+    @Test
+    public void min_numberConstraint() {
+        Pair<Predicate<BigDecimal>, String> constraint = min(1);
+        assertFalse(constraint._1().test(new BigDecimal("0.5")));
+        assertTrue(constraint._1().test(BigDecimal.ONE));
+        assertEquals("must be larger than or equal to 1", constraint._2());
+    }
+
+    @Test
+    public void min_numberConstraint_fraction() {
+        DoubleAdder val = new DoubleAdder();
+        val.add(4.5);
+        Pair<Predicate<Number>, String> min = min(5);
+        Pair<Predicate<Number>, String> max = max(4);
+        assertFalse(min._1().test(val));
+        assertFalse(max._1().test(val));
+        assertTrue(min._1().test(new AtomicLong(5)));
+    }
+
+    @Test
+    public void min_numberConstraint_largeBound() {
+        assertFalse(min(9007199254740993L)._1().test(9007199254740992.0));
+        assertTrue(max(9007199254740993L)._1().test(9007199254740992.0));
+        assertFalse(max(9007199254740991L)._1().test(9007199254740992.0));
+        assertFalse(min(0)._1().test(Double.NaN));
+        assertFalse(max(0)._1().test(Double.NaN));
+        assertTrue(min(Long.MAX_VALUE)._1().test(Double.POSITIVE_INFINITY));
+        assertFalse(max(Long.MAX_VALUE)._1().test(Double.POSITIVE_INFINITY));
+        assertTrue(min(0)._1().test(-0.0));
+    }
+
+    @Test
+    public void length() {
+        assertSame(Collections.emptyList(), minLength("abc", 3));
+        assertEquals(Collections.singletonList("length must be larger then or equal to 4"), minLength("abc", 4));
+        assertEquals(Collections.singletonList("length must be less or equal to 2"), maxLength("abc", 2));
+        assertFalse(maxLength(2)._1().test("abc"));
+    }
+
+    @Test
+    public void size_invalid() {
+        assertEquals(Collections.singletonList("size must be between 1 and 2"), size(Collections.emptyList(), 1, 2));
+    }
+}
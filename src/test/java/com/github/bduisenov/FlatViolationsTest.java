@@ -0,0 +1,184 @@
+package com.github.bduisenov;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.github.bduisenov.Validator.NOT_NULL_MESSAGE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class FlatViolationsTest {
+
+    static class Line {
+        private final String sku;
+
+        Line(String sku) {
+            this.sku = sku;
+        }
+
+        public String getSku() {
+            return sku;
+        }
+    }
+
+    static class Order {
+        private final String id;
+        private final List<String> tags;
+        private final Map<String, Integer> quantities;
+        private final Line line;
+
+        Order(String id, List<String> tags, Map<String, Integer> quantities, Line line) {
+            this.id = id;
+            this.tags = tags;
+            this.quantities = quantities;
+            this.line = line;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public Map<String, Integer> getQuantities() {
+            return quantities;
+        }
+
+        public Line getLine() {
+            return line;
+        }
+    }
+
+    private static final ValidatorSpec<Line> LINE_SPEC = ValidatorSpec.<Line>builder()
+            .validate(Line::getSku, sku -> !sku.isEmpty(), "may not be empty")
+            .build();
+
+    private static final ValidatorSpec<Order> ORDER_SPEC = ValidatorSpec.<Order>builder()
+            .validate(Order::getId, id -> !id.isEmpty(), "may not be empty")
+            .validateList(Order::getTags, c -> c.addPredicate(tag -> !tag.isEmpty(), "may not be empty"))
+            .validateMap(Order::getQuantities,
+                    keys -> keys.addPredicate(key -> !key.isEmpty(), "may not be empty"),
+                    values -> values.addPredicate(value -> value > 0, "must be positive"))
+            .nest(Order::getLine, LINE_SPEC)
+            .build();
+
+    private static Order invalidOrder() {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        quantities.put("a'b", 0);
+        quantities.put("", 0);
+        return new Order(null, Arrays.asList("x", ""), quantities, new Line(""));
+    }
+
+    @Test
+    public void fromTree() {
+        FlatViolations flat = FlatViolations.fromTree(ORDER_SPEC.apply(invalidOrder()).getViolations());
+
+        Map<String, List<String>> expected = new LinkedHashMap<>();
+        expected.put("id", Collections.singletonList(NOT_NULL_MESSAGE));
+        expected.put("tags[1]", Collections.singletonList("may not be empty"));
+        expected.put("quantities['a\\'b']", Collections.singletonList("must be positive"));
+        expected.put("quantities{''}", Collections.singletonList("may not be empty"));
+        expected.put("quantities['']", Collections.singletonList("must be positive"));
+        expected.put("line.sku", Collections.singletonList("may not be empty"));
+        assertEquals(expected, flat.toMap());
+        assertEquals(6, flat.size());
+        assertEquals("line.sku", flat.getPath(5));
+    }
+
+    @Test
+    public void toTree_roundTrip() {
+        List<ValidatorViolation> tree = ORDER_SPEC.apply(invalidOrder()).getViolations();
+        assertEquals(tree, FlatViolations.fromTree(tree).toTree());
+
+        List<ValidatorViolation> nested = Collections.singletonList(ValidatorViolation.fromViolations("order", Arrays.asList(
+                ValidatorCollectionViolation.fromCollectionViolations("items", 3, tree),
+                ValidatorViolation.fromErrors("total", Arrays.asList("a", "b")))));
+        assertEquals(nested, FlatViolations.fromTree(nested).toTree());
+    }
+
+    @Test
+    public void toTree_escapedFieldNames() {
+        List<ValidatorViolation> tree = Arrays.asList(
+                ValidatorViolation.fromViolations("a.b", Collections.singletonList(
+                        ValidatorCollectionViolation.fromCollectionErrors("c[0]", 1, Collections.singletonList("x")))),
+                ValidatorViolation.fromErrors("{d}\\", Collections.singletonList("y")));
+        FlatViolations flat = FlatViolations.fromTree(tree);
+
+        assertEquals("a\\.b.c\\[0][1]", flat.getPath(0));
+        assertEquals("\\{d}\\\\", flat.getPath(1));
+        assertEquals(tree, flat.toTree());
+    }
+
+    @Test
+    public void toTree_emptyFieldNames() {
+        List<ValidatorViolation> tree = Arrays.asList(
+                ValidatorViolation.fromErrors("", Collections.singletonList("x")),
+                ValidatorViolation.fromViolations("a", Collections.singletonList(
+                        ValidatorViolation.fromErrors("", Collections.singletonList("y")))));
+        FlatViolations flat = FlatViolations.fromTree(tree);
+
+        assertEquals("", flat.getPath(0));
+        assertEquals("a.", flat.getPath(1));
+        assertEquals(tree, flat.toTree());
+        assertEquals(Validator.of("x").validate("", s -> false, "bad").getViolations(),
+                Validator.of("x").withFlatViolations().validate("", s -> false, "bad").getViolations());
+    }
+
+    @Test
+    public void toTree_violationsWithSamePath() {
+        List<ValidatorViolation> tree = Arrays.asList(
+                ValidatorViolation.fromErrors("a", Collections.singletonList("x")),
+                ValidatorViolation.fromErrors("a", Arrays.asList("y", "z")),
+                ValidatorViolation.fromViolations("b", Collections.singletonList(ValidatorViolation.fromErrors("c", Collections.singletonList("x")))),
+                ValidatorViolation.fromViolations("b", Arrays.asList(
+                        ValidatorViolation.fromErrors("c", Collections.singletonList("y")),
+                        ValidatorViolation.fromErrors("c", Collections.singletonList("z")))));
+        assertEquals(tree, FlatViolations.fromTree(tree).toTree());
+
+        Validator<String, ?> validator = Validator.of("x").withFlatViolations()
+                .validate("a", s -> false, "x")
+                .validate("a", s -> false, "y")
+                .nest("b", Function.identity(), s -> Validator.of(s).validate("c", x -> false, "x").validate("c", x -> false, "y"));
+        List<ValidatorViolation> expected = Validator.of("x")
+                .validate("a", s -> false, "x")
+                .validate("a", s -> false, "y")
+                .nest("b", Function.identity(), s -> Validator.of(s).validate("c", x -> false, "x").validate("c", x -> false, "y"))
+                .getViolations();
+        assertEquals(expected, validator.getViolations());
+        assertEquals(3, expected.size());
+    }
+
+    @Test
+    public void getViolations_builtOnce() {
+        Validator<Order, ?> validator = ORDER_SPEC.apply(invalidOrder(), value -> Validator.of(value).withFlatViolations());
+
+        assertSame(validator.getFlatViolations(), validator.getFlatViolations());
+        assertSame(validator.getViolations(), validator.getViolations());
+    }
+
+    @Test
+    public void withFlatViolations() {
+        Order order = invalidOrder();
+        Validator<Order, ?> validator = ORDER_SPEC.apply(order, value -> Validator.of(value).withFlatViolations());
+
+        assertTrue(validator.hasViolations());
+        assertEquals(FlatViolations.fromTree(ORDER_SPEC.apply(order).getViolations()), validator.getFlatViolations());
+        assertEquals(ORDER_SPEC.apply(order).getViolations(), validator.getViolations());
+    }
+
+    @Test
+    public void empty() {
+        Order order = new Order("id", Collections.emptyList(), Collections.emptyMap(), new Line("sku"));
+        assertSame(FlatViolations.empty(), ORDER_SPEC.apply(order).getFlatViolations());
+        assertSame(FlatViolations.empty(), Validator.of(order).withFlatViolations().nest(Order::getLine, LINE_SPEC).getFlatViolations());
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.bduisenov;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class MessageTemplateTest {
+
+    @Test
+    public void render() {
+        MessageTemplate template = MessageTemplate.of("size must be between {min} and {max}, not {min}");
+        assertEquals("size must be between 1 and 1,000, not 1", template.render(Locale.US, 1, 1000));
+        assertEquals("{1} then {0}", MessageTemplate.of("{1} then {0}").render(Locale.US));
+        assertEquals("b then a", MessageTemplate.of("{1} then {0}").render(Locale.US, "a", "b"));
+        assertEquals("{min", MessageTemplate.of("{min").render(Locale.US, 1));
+    }
+
+    @Test
+    public void errors_renderedWhenRead() {
+        AtomicInteger renders = new AtomicInteger();
+        Object arg = new Object() {
+            @Override
+            public String toString() {
+                return "arg" + renders.incrementAndGet();
+            }
+        };
+
+        List<String> errors = MessageTemplate.of("invalid {value}").errors(arg);
+
+        assertEquals(0, renders.get());
+        assertEquals(Collections.singletonList("invalid arg1"), errors);
+        assertEquals("invalid arg1", errors.get(0));
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    public void localize() {
+        List<String> errors = BasicValidations.min(5, 1000);
+
+        assertEquals(Collections.singletonList("muss größer oder gleich 1.000 sein"), MessageTemplate.localize(errors, Locale.GERMAN));
+        assertEquals(Collections.singletonList("must be larger than or equal to 1,000"), MessageTemplate.localize(errors, Locale.UK));
+
+        List<String> plain = Collections.singletonList("custom");
+        assertSame(plain, MessageTemplate.localize(plain, Locale.GERMAN));
+    }
+
+    @Test
+    public void errors_notRenderedInConstraintGroup() {
+        AtomicInteger renders = new AtomicInteger();
+        Object arg = new Object() {
+            @Override
+            public String toString() {
+                return "arg" + renders.incrementAndGet();
+            }
+        };
+        MessageTemplate template = MessageTemplate.of("invalid {value}");
+
+        List<ValidatorViolation> tree = Validator.of(5)
+                .validate("value", Function.identity(), c -> {
+                    c.addFunction(x -> BasicValidations.min(x, 1000));
+                    c.addFunction(x -> template.errors(arg));
+                }).getViolations();
+        FlatViolations flat = Validator.of(5).withFlatViolations()
+                .validate("value", Function.identity(), c -> {
+                    c.addFunction(x -> BasicValidations.min(x, 1000));
+                    c.addFunction(x -> template.errors(arg));
+                }).getFlatViolations();
+        List<ValidatorViolation> fromFlat = flat.toTree();
+
+        assertEquals(0, renders.get());
+        assertEquals(Arrays.asList("muss größer oder gleich 1.000 sein", "invalid arg1"),
+                MessageTemplate.localize(tree.get(0).getErrors(), Locale.GERMAN));
+        assertEquals(Arrays.asList("muss größer oder gleich 1.000 sein", "invalid arg2"),
+                MessageTemplate.localize(fromFlat.get(0).getErrors(), Locale.GERMAN));
+    }
+
+    @Test
+    public void render_concurrently() {
+        MessageTemplate template = MessageTemplate.of("{value} of {max}");
+
+        List<CompletableFuture<String>> futures = IntStream.range(0, 1000)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> template.render(Locale.US, i * 1000.5, 1_000_000)))
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(template.render(Locale.US, i * 1000.5, 1_000_000), futures.get(i).join());
+        }
+    }
+}
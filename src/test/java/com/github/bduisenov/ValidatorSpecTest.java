@@ -0,0 +1,521 @@
+package com.github.bduisenov;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.github.bduisenov.Validator.NOT_NULL_MESSAGE;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ValidatorSpecTest {
+
+    static class Address {
+        private final String city;
+
+        Address(String city) {
+            this.city = city;
+        }
+
+        public String getCity() {
+            return city;
+        }
+    }
+
+    static class User {
+        private final String name;
+        private final Integer age;
+        private final List<String> tags;
+        private final Address address;
+
+        User(String name, Integer age, List<String> tags, Address address) {
+            this.name = name;
+            this.age = age;
+            this.tags = tags;
+            this.address = address;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+    }
+
+    private static final ValidatorSpec<Address> ADDRESS_SPEC = ValidatorSpec.<Address>builder()
+            .validate(Address::getCity, city -> !city.isEmpty(), "may not be empty")
+            .build();
+
+    private static final ValidatorSpec<User> USER_SPEC = ValidatorSpec.<User>builder()
+            .validate(User::getName, Objects::nonNull, "may not be null")
+            .validateOpt(User::getAge, age -> age >= 0, "must be positive")
+            .validateList(User::getTags, constraints -> constraints.addPredicate(tag -> !tag.isEmpty(), "may not be empty"))
+            .nestOpt(User::getAddress, ADDRESS_SPEC)
+            .validateWhen(user -> user.getAge() != null, builder -> builder
+                    .validate("adult", User::getAge, age -> age >= 18, "must be adult"))
+            .build();
+
+    @Test
+    public void apply() {
+        User user = new User("name", 20, Collections.singletonList("tag"), new Address("city"));
+        assertEquals(user, USER_SPEC.apply(user).getOrThrow());
+    }
+
+    @Test
+    public void apply_failed() {
+        User user = new User(null, 10, Arrays.asList("tag", ""), new Address(""));
+
+        List<ValidatorViolation> expected = Arrays.asList(
+                ValidatorViolation.fromErrors("name", Collections.singletonList(NOT_NULL_MESSAGE)),
+                ValidatorCollectionViolation.fromCollectionErrors("tags", 1, Collections.singletonList("may not be empty")),
+                ValidatorViolation.fromViolations("address", Collections.singletonList(
+                        ValidatorViolation.fromErrors("city", Collections.singletonList("may not be empty")))),
+                ValidatorViolation.fromErrors("adult", Collections.singletonList("must be adult")));
+
+        assertEquals(expected, USER_SPEC.apply(user).getViolations());
+    }
+
+    @Test
+    public void apply_sameResultAsValidator() {
+        User user = new User("name", -1, Collections.singletonList(""), null);
+
+        List<ValidatorViolation> expected = Validator.of(user)
+                .validate(User::getName, Objects::nonNull, "may not be null")
+                .validateOpt(User::getAge, age -> age >= 0, "must be positive")
+                .validateList(User::getTags, constraints -> constraints.addPredicate(tag -> !tag.isEmpty(), "may not be empty"))
+                .nestOpt(User::getAddress, ADDRESS_SPEC)
+                .validateWhen(u -> u.getAge() != null, validator -> validator
+                        .validate("adult", User::getAge, age -> age >= 18, "must be adult"))
+                .getViolations();
+
+        assertEquals(expected, USER_SPEC.apply(user).getViolations());
+    }
+
+    @Test
+    public void isValid() {
+        List<User> users = Arrays.asList(
+                new User("name", 20, Collections.singletonList("tag"), new Address("city")),
+                new User("name", null, Collections.emptyList(), null),
+                new User(null, 20, Collections.emptyList(), null),
+                new User("name", -1, Collections.emptyList(), null),
+                new User("name", 20, Arrays.asList("tag", ""), null),
+                new User("name", 20, Collections.emptyList(), new Address("")),
+                new User("name", 10, Collections.emptyList(), null));
+
+        for (User user : users) {
+            assertEquals(!USER_SPEC.apply(user).hasViolations(), USER_SPEC.isValid(user));
+        }
+    }
+
+    @Test
+    public void isValid_stopsAtFirstFailedRule() {
+        ValidatorSpec<User> spec = ValidatorSpec.<User>builder()
+                .validate(User::getName, Objects::nonNull, "may not be null")
+                .validate(User::getAge, age -> {
+                    throw new UnsupportedOperationException("should not be called after the first failed rule");
+                }, "must be positive")
+                .build();
+
+        assertTrue(!spec.isValid(new User(null, 20, Collections.emptyList(), null)));
+    }
+
+    @Test
+    public void apply_reusedForManyValues() {
+        assertTrue(USER_SPEC.apply(new User(null, null, Collections.emptyList(), null)).hasViolations());
+        assertTrue(!USER_SPEC.apply(new User("name", null, Collections.emptyList(), null)).hasViolations());
+    }
+
+    @Test
+    public void apply_withValidatorFactory() {
+        User user = new User("name", null, Collections.emptyList(), null);
+        assertTrue(USER_SPEC.apply(user, ValidatorTest.TryValidator::of).get().isSuccess());
+    }
+
+    @Test
+    public void validateAll() {
+        List<User> users = Arrays.asList(
+                new User("a", 20, Collections.emptyList(), null),
+                new User(null, 20, Collections.emptyList(), null),
+                new User("c", 20, Collections.emptyList(), null),
+                new User("d", 10, Collections.emptyList(), null));
+
+        BatchResult result = USER_SPEC.validateAll(users);
+
+        assertEquals(4, result.size());
+        assertEquals(2, result.getInvalidCount());
+        assertTrue(result.isValid(0));
+        assertTrue(!result.isValid(1));
+        assertArrayEquals(new int[]{1, 3}, result.getInvalidIndices());
+        assertEquals(USER_SPEC.apply(users.get(1)).getViolations(), result.getViolations(1));
+        assertEquals(USER_SPEC.apply(users.get(3)).getViolations(), result.getViolations(3));
+        assertEquals(Collections.emptyList(), result.getViolations(2));
+    }
+
+    @Test
+    public void validateAll_parallel() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            users.add(new User(i % 3 == 0 ? null : "name", i % 40, Collections.emptyList(), null));
+        }
+
+        BatchResult sequential = USER_SPEC.validateAll(users.stream());
+        BatchResult parallel = USER_SPEC.validateAll(users, Parallelism.forkJoin().withThreshold(10).withChunkSize(64));
+
+        assertEquals(sequential.getValid(), parallel.getValid());
+        assertArrayEquals(sequential.getInvalidIndices(), parallel.getInvalidIndices());
+        for (int i : sequential.getInvalidIndices()) {
+            assertEquals(sequential.getViolations(i), parallel.getViolations(i));
+        }
+    }
+
+    @Test
+    public void withMetrics() {
+        RuleMetrics metrics = new RuleMetrics();
+        ValidatorSpec<User> spec = USER_SPEC.withMetrics(metrics);
+
+        User valid = new User("name", 20, Collections.emptyList(), null);
+        User invalid = new User(null, 10, Collections.emptyList(), null);
+        assertEquals(USER_SPEC.apply(invalid).getViolations(), spec.apply(invalid).getViolations());
+        spec.apply(valid);
+
+        Map<String, RuleStats> stats = new HashMap<>();
+        for (RuleStats x : metrics.snapshot()) {
+            stats.put(x.getFieldName() + "/" + x.getRule(), x);
+        }
+        assertEquals(7, stats.size());
+        assertEquals(2, stats.get("name/validate").getInvocations());
+        assertEquals(1, stats.get("name/validate").getFailures());
+        assertEquals(0, stats.get("tags/validateList").getFailures());
+        assertEquals(1, stats.get("/validateWhen[0]").getFailures());
+        assertEquals(2, stats.get("adult/validateWhen[0].validate").getInvocations());
+        assertEquals(1, stats.get("adult/validateWhen[0].validate").getFailures());
+        assertEquals(0, stats.get("address.city/validate").getInvocations());
+        assertTrue(stats.get("age/validateOpt").getTotalNanos() >= 0);
+
+        metrics.reset();
+        assertEquals(0, metrics.snapshot().get(0).getInvocations());
+    }
+
+    @Test
+    public void withMetrics_validateWhenBlocks() {
+        RuleMetrics metrics = new RuleMetrics();
+        ValidatorSpec<User> spec = ValidatorSpec.<User>builder()
+                .validateWhen(user -> user.getAge() != null, builder -> builder
+                        .validate("adult", User::getAge, age -> age >= 18, "must be adult"))
+                .validateWhen(user -> user.getName() != null, builder -> builder
+                        .nestOpt(User::getAddress, ADDRESS_SPEC))
+                .build()
+                .withMetrics(metrics);
+
+        spec.apply(new User("name", 10, Collections.emptyList(), new Address("")));
+
+        Map<String, RuleStats> stats = new HashMap<>();
+        for (RuleStats x : metrics.snapshot()) {
+            stats.put(x.getFieldName() + "/" + x.getRule(), x);
+        }
+        assertEquals(new HashSet<>(Arrays.asList("/validateWhen[0]", "adult/validateWhen[0].validate",
+                "/validateWhen[1]", "address/validateWhen[1].nestOpt", "address.city/validateWhen[1].validate")), stats.keySet());
+        assertEquals(1, stats.get("/validateWhen[1]").getFailures());
+        assertEquals(1, stats.get("address.city/validateWhen[1].validate").getFailures());
+    }
+
+    @Test
+    public void withCache() {
+        AtomicInteger evaluations = new AtomicInteger();
+        ValidationCache<Address> cache = ValidationCache.lru(2, Address::getCity);
+        ValidatorSpec<Address> spec = ValidatorSpec.<Address>builder()
+                .validate(Address::getCity, city -> evaluations.incrementAndGet() > 0 && !city.isEmpty(), "may not be empty")
+                .build()
+                .withCache(cache);
+
+        List<ValidatorViolation> violations = spec.apply(new Address("")).getViolations();
+        assertEquals(violations, spec.apply(new Address("")).getViolations());
+        assertTrue(!spec.apply(new Address("a")).hasViolations());
+        assertTrue(!spec.apply(new Address("a")).hasViolations());
+        assertEquals(2, evaluations.get());
+        assertEquals(2, cache.hitCount());
+        assertEquals(0.5, cache.hitRate(), 0.0);
+
+        spec.apply(new Address("b"));
+        spec.apply(new Address(""));
+        assertEquals(4, evaluations.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void withCache_sharedBetweenSpecs() {
+        ValidationCache<Address> cache = ValidationCache.lru(10);
+        ValidatorSpec.<Address>builder()
+                .validate(Address::getCity, city -> !city.isEmpty(), "may not be empty")
+                .build()
+                .withCache(cache);
+
+        ValidatorSpec.<Address>builder().build().withCache(cache);
+    }
+
+    @Test
+    public void validateIncrementally() {
+        AtomicInteger nameEvaluations = new AtomicInteger();
+        AtomicInteger addressEvaluations = new AtomicInteger();
+        AtomicInteger ageEvaluations = new AtomicInteger();
+        AtomicInteger userEvaluations = new AtomicInteger();
+        ValidatorSpec<Address> addressSpec = ValidatorSpec.<Address>builder()
+                .validate(Address::getCity, city -> addressEvaluations.incrementAndGet() > 0 && !city.isEmpty(), "may not be empty")
+                .build();
+        ValidatorSpec<User> spec = ValidatorSpec.<User>builder()
+                .validate(User::getName, name -> nameEvaluations.incrementAndGet() > 0 && !name.isEmpty(), "may not be empty")
+                .nest(User::getAddress, addressSpec)
+                .validateWhen(User::getAge, Objects::nonNull, builder -> builder
+                        .validate(User::getAge, age -> ageEvaluations.incrementAndGet() > 0 && age >= 18, "must be adult"))
+                .validate("user", user -> userEvaluations.incrementAndGet() > 0, "is not valid")
+                .build();
+
+        User user = new User("", 10, Collections.emptyList(), new Address(""));
+        IncrementalResult<User> result = spec.validateIncrementally(user);
+
+        User renamed = new User("name", 10, Collections.emptyList(), user.getAddress());
+        IncrementalResult<User> revalidated = result.revalidate(renamed, "name");
+
+        assertEquals(2, nameEvaluations.get());
+        assertEquals(1, addressEvaluations.get());
+        assertEquals(1, ageEvaluations.get());
+        assertEquals(2, userEvaluations.get());
+
+        User moved = new User("name", 20, Collections.emptyList(), new Address("city"));
+        IncrementalResult<User> valid = revalidated.revalidate(moved, "address.city", "age");
+
+        assertEquals(2, nameEvaluations.get());
+        assertEquals(2, addressEvaluations.get());
+        assertEquals(2, ageEvaluations.get());
+        assertEquals(3, userEvaluations.get());
+
+        assertEquals(spec.apply(user).getViolations(), result.getViolations());
+        assertEquals(spec.apply(renamed).getViolations(), revalidated.getViolations());
+        assertTrue(valid.isValid());
+        assertEquals(moved, valid.toResult().getValue());
+    }
+
+    @Test
+    public void revalidate_fieldNameWithFunction() {
+        AtomicInteger evaluations = new AtomicInteger();
+        ValidatorSpec<User> spec = ValidatorSpec.<User>builder()
+                .validate("adult", user -> user.getAge() != null && user.getName() != null,
+                        ready -> evaluations.incrementAndGet() > 0 && ready, "is not complete")
+                .validateOpt(User::getAge, age -> age >= 0, "must be positive")
+                .build();
+
+        IncrementalResult<User> result = spec.validateIncrementally(new User(null, 20, Collections.emptyList(), null));
+        IncrementalResult<User> revalidated = result.revalidate(new User("name", 20, Collections.emptyList(), null), "name");
+
+        assertEquals(2, evaluations.get());
+        assertTrue(revalidated.isValid());
+    }
+
+    @Test
+    public void group() {
+        AtomicInteger updateEvaluations = new AtomicInteger();
+        ValidatorSpec<User> spec = ValidatorSpec.<User>builder()
+                .validate(User::getName, Objects::nonNull, "may not be null")
+                .group("create", create -> create
+                        .validate(User::getAge, Objects::nonNull, "may not be null"))
+                .group("update", update -> update
+                        .validate("user", user -> updateEvaluations.incrementAndGet() < 0, "may not be updated"))
+                .group(new HashSet<>(Arrays.asList("create", "update")), shared -> shared
+                        .nestOpt(User::getAddress, ADDRESS_SPEC))
+                .group("patch", patch -> {
+                })
+                .build();
+        User user = new User(null, null, Collections.emptyList(), new Address(""));
+
+        List<ValidatorViolation> name = Collections.singletonList(
+                ValidatorViolation.fromErrors("name", Collections.singletonList(NOT_NULL_MESSAGE)));
+        ValidatorViolation age = ValidatorViolation.fromErrors("age", Collections.singletonList(NOT_NULL_MESSAGE));
+        ValidatorViolation address = ValidatorViolation.fromViolations("address", Collections.singletonList(
+                ValidatorViolation.fromErrors("city", Collections.singletonList("may not be empty"))));
+
+        assertEquals(name, spec.apply(user).getViolations());
+        assertEquals(name, spec.group("patch").apply(user).getViolations());
+        assertEquals(Arrays.asList(name.get(0), age, address), spec.group("create").apply(user).getViolations());
+        assertEquals(0, updateEvaluations.get());
+        assertEquals(3, spec.group("update").apply(user).getViolations().size());
+        assertEquals(1, updateEvaluations.get());
+        assertSame(spec.group("create"), spec.group("create"));
+    }
+
+    @Test
+    public void group_nested() {
+        ValidatorSpec<User> spec = ValidatorSpec.<User>builder()
+                .group(new HashSet<>(Arrays.asList("create", "update")), shared -> shared
+                        .group("create", create -> create
+                                .validate(User::getAge, Objects::nonNull, "may not be null")))
+                .build();
+        User user = new User("name", null, Collections.emptyList(), null);
+
+        assertEquals(1, spec.group("create").apply(user).getViolations().size());
+        assertTrue(spec.group("update").apply(user).getViolations().isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void group_nestedWithoutCommonName() {
+        ValidatorSpec.<User>builder()
+                .group("create", create -> create
+                        .group("update", update -> update
+                                .validate(User::getAge, Objects::nonNull, "may not be null")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void group_unknown() {
+        USER_SPEC.group("create");
+    }
+
+    static class Node {
+        private final String name;
+        private final Address address;
+        private Node next;
+
+        Node(String name, Address address) {
+            this.name = name;
+            this.address = address;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public Node getNext() {
+            return next;
+        }
+    }
+
+    @Test
+    public void withVisitTracking() {
+        AtomicInteger addressEvaluations = new AtomicInteger();
+        ValidatorSpec<Address> addressSpec = ValidatorSpec.<Address>builder()
+                .validate(Address::getCity, city -> addressEvaluations.incrementAndGet() > 0 && !city.isEmpty(), "may not be empty")
+                .build();
+        ValidatorSpec<Node> nodeSpec = nodeSpec(addressSpec);
+
+        Address shared = new Address("");
+        Node a = new Node("a", shared);
+        Node b = new Node("b", shared);
+        Node c = new Node("", shared);
+        a.next = b;
+        b.next = c;
+        c.next = a;
+
+        List<ValidatorViolation> violations = nodeSpec.apply(a, node -> Validator.of(node).withVisitTracking()).getViolations();
+
+        assertEquals(1, addressEvaluations.get());
+        List<ValidatorViolation> addressViolations = Collections.singletonList(
+                ValidatorViolation.fromErrors("city", Collections.singletonList("may not be empty")));
+        List<ValidatorViolation> expected = Arrays.asList(
+                ValidatorViolation.fromViolations("address", addressViolations),
+                ValidatorViolation.fromViolations("next", Arrays.asList(
+                        ValidatorViolation.fromViolations("address", addressViolations),
+                        ValidatorViolation.fromViolations("next", Arrays.asList(
+                                ValidatorViolation.fromErrors("name", Collections.singletonList("may not be empty")),
+                                ValidatorViolation.fromViolations("address", addressViolations))))));
+        assertEquals(expected, violations);
+    }
+
+    @Test
+    public void withVisitTracking_recursiveLambda() {
+        Node a = new Node("", new Address("city"));
+        Node b = new Node("b", new Address("city"));
+        a.next = b;
+        b.next = a;
+
+        List<Function<Node, Validator<Node, ?>>> self = new ArrayList<>(1);
+        self.add(node -> Validator.of(node)
+                .validate(Node::getName, name -> !name.isEmpty(), "may not be empty")
+                .nestOpt(Node::getNext, next -> self.get(0).apply(next)));
+
+        List<ValidatorViolation> violations = Validator.of(b).withVisitTracking()
+                .nestOpt(Node::getNext, next -> self.get(0).apply(next))
+                .getViolations();
+
+        List<ValidatorViolation> expected = Collections.singletonList(ValidatorViolation.fromViolations("next",
+                Collections.singletonList(ValidatorViolation.fromErrors("name", Collections.singletonList("may not be empty")))));
+        assertEquals(expected, violations);
+    }
+
+    @Test
+    public void withVisitTracking_maxDepth() {
+        Node head = new Node("0", new Address("city"));
+        Node tail = head;
+        for (int i = 1; i < 5; i++) {
+            tail.next = new Node(String.valueOf(i), new Address("city"));
+            tail = tail.next;
+        }
+
+        Validator<Node, ?> validator = nodeSpec(ADDRESS_SPEC).apply(head, node -> Validator.of(node).withVisitTracking(2));
+
+        Map<String, List<String>> expected = new LinkedHashMap<>();
+        expected.put("next.next.address", Collections.singletonList("nesting is deeper than 2"));
+        expected.put("next.next.next", Collections.singletonList("nesting is deeper than 2"));
+        assertEquals(expected, FlatViolations.fromTree(validator.getViolations()).toMap());
+    }
+
+    @Test
+    public void isValid_cyclicGraph() {
+        ValidatorSpec<Node> nodeSpec = nodeSpec(ADDRESS_SPEC);
+        ValidatorSpec<Node> headSpec = ValidatorSpec.<Node>builder()
+                .nestOpt(Node::getNext, nodeSpec)
+                .build();
+
+        Node a = new Node("a", new Address("city"));
+        Node b = new Node("b", new Address("city"));
+        Node c = new Node("c", new Address("city"));
+        a.next = b;
+        b.next = c;
+        c.next = a;
+
+        assertTrue(nodeSpec.isValid(a));
+        assertTrue(headSpec.isValid(a));
+
+        Node invalid = new Node("", new Address("city"));
+        c.next = invalid;
+        invalid.next = a;
+
+        assertTrue(!nodeSpec.isValid(a));
+        assertTrue(!headSpec.isValid(a));
+        assertTrue(nodeSpec.apply(a, node -> Validator.of(node).withVisitTracking()).hasViolations());
+    }
+
+    private static ValidatorSpec<Node> nodeSpec(ValidatorSpec<Address> addressSpec) {
+        List<ValidatorSpec<Node>> self = new ArrayList<>(1);
+        ValidatorSpec<Node> spec = ValidatorSpec.<Node>builder()
+                .validate(Node::getName, name -> !name.isEmpty(), "may not be empty")
+                .nest(Node::getAddress, addressSpec)
+                .nestOpt(Node::getNext, node -> self.get(0).apply(node))
+                .build();
+        self.add(spec);
+        return spec;
+    }
+}
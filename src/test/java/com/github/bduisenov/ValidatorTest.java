@@ -4,11 +4,27 @@ import io.vavr.control.Try;
 import lombok.NonNull;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import static com.github.bduisenov.Validator.NOT_NULL_MESSAGE;
 import static org.junit.Assert.assertEquals;
@@ -330,6 +346,464 @@ public class ValidatorTest {
         assertTrue(aTry.isSuccess());
     }
 
+    @Test
+    public void projectionName_resolvedOncePerMethodReference() {
+        Projection<Object, String> projection = Object::toString;
+        assertEquals("toString", projection.getName());
+
+        long hits = ProjectionNameCache.hitCount();
+        long misses = ProjectionNameCache.missCount();
+        assertEquals("toString", projection.getName());
+        assertEquals(hits + 1, ProjectionNameCache.hitCount());
+        assertEquals(misses, ProjectionNameCache.missCount());
+    }
+
+    @Test
+    public void validate_failFast() {
+        Try<Object> aTry = validator.withStopPolicy(StopPolicy.failFast())
+                .validate("first", o -> false, "not valid")
+                .validate("second", x -> {
+                    throw new UnsupportedOperationException("should not be called after the first violation");
+                }, x -> false, "not valid")
+                .get();
+        assertTrue(aTry.isFailure());
+        assertEquals(1, ((ValidationException) aTry.getCause()).getViolations().size());
+    }
+
+    @Test
+    public void nest_remainingViolationsOfStopPolicy() {
+        ValidatorSpec<String> spec = ValidatorSpec.<String>builder()
+                .validate("first", s -> false, "not valid")
+                .validate("second", s -> false, "not valid")
+                .validate("third", s -> false, "not valid")
+                .build();
+        Try<Object> aTry = validator.withStopPolicy(StopPolicy.maxViolations(3))
+                .validate("before", o -> false, "not valid")
+                .nest("nested", o -> "value", spec)
+                .get();
+        List<ValidatorViolation> violations = ((ValidationException) aTry.getCause()).getViolations();
+        assertEquals(2, violations.size());
+        assertEquals(2, violations.get(1).getViolations().size());
+    }
+
+    @Test
+    public void validateList_maxViolations() {
+        List<Integer> xs = Arrays.asList(1, -2, -3, -4);
+        Try<Object> aTry = validator.withStopPolicy(StopPolicy.maxViolations(2))
+                .validateList("xs", o -> xs, constraints -> constraints.addPredicate(x -> x > 0, "not valid"))
+                .validate("next", o -> false, "not valid")
+                .get();
+        List<ValidatorViolation> expected = Arrays.asList(
+                ValidatorCollectionViolation.fromCollectionErrors("xs", 1, Collections.singletonList("not valid")),
+                ValidatorCollectionViolation.fromCollectionErrors("xs", 2, Collections.singletonList("not valid")));
+        assertEquals(expected, ((ValidationException) aTry.getCause()).getViolations());
+    }
+
+    @Test
+    public void validateList_adaptiveOrdering() {
+        List<Integer> xs = new ArrayList<>();
+        for (int i = 1; i <= 10_000; i++) {
+            xs.add(-i);
+        }
+        AtomicInteger expensiveEvaluations = new AtomicInteger();
+        Predicate<Integer> expensive = x -> {
+            expensiveEvaluations.incrementAndGet();
+            int hash = 0;
+            for (int i = 0; i < 200; i++) {
+                hash += String.valueOf(x + i).hashCode();
+            }
+            return hash != 0 || x != 0;
+        };
+
+        Try<Object> aTry = validator.withStopPolicy(StopPolicy.maxViolations(xs.size()).withAdaptiveOrdering())
+                .validateList("xs", o -> xs, constraints -> {
+                    constraints.addPredicate(expensive, "not valid");
+                    constraints.addPredicate(x -> x > 0, "must be positive");
+                })
+                .get();
+
+        List<ValidatorViolation> violations = ((ValidationException) aTry.getCause()).getViolations();
+        assertEquals(xs.size(), violations.size());
+        assertEquals(Collections.singletonList("must be positive"), violations.get(xs.size() - 1).getErrors());
+        assertTrue(expensiveEvaluations.get() < xs.size() / 2);
+    }
+
+    @Test
+    public void validate_adaptiveOrdering() {
+        AtomicInteger expensiveEvaluations = new AtomicInteger();
+        StopPolicy stopPolicy = StopPolicy.failFast().withAdaptiveOrdering();
+
+        for (int i = 0; i < 1000; i++) {
+            Try<Integer> aTry = TryValidator.of(-1)
+                    .withStopPolicy(stopPolicy)
+                    .validate("x", Function.identity(), constraints -> {
+                        constraints.addPredicate(x -> x > 0, "must be positive");
+                        constraints.addPredicate(x -> expensiveEvaluations.incrementAndGet() > 0, "not valid");
+                    })
+                    .get();
+
+            List<ValidatorViolation> violations = ((ValidationException) aTry.getCause()).getViolations();
+            assertEquals(Collections.singletonList("must be positive"), violations.get(0).getErrors());
+        }
+
+        assertEquals(0, expensiveEvaluations.get());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void adaptiveOrdering_collectAll() {
+        StopPolicy.collectAll().withAdaptiveOrdering();
+    }
+
+    @Test
+    public void validateList_parallel() {
+        List<Integer> xs = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            xs.add(i % 7 == 0 ? -i : i);
+        }
+        Consumer<ConstraintFactory<Integer>> constraints = c -> c.addPredicate(x -> x > 0, "not valid");
+
+        List<ValidatorViolation> expected = Validator.of(xs)
+                .validateList("xs", Function.identity(), constraints)
+                .getViolations();
+        List<ValidatorViolation> actual = Validator.of(xs)
+                .withParallelism(Parallelism.forkJoin().withThreshold(10).withChunkSize(16))
+                .validateList("xs", Function.identity(), constraints)
+                .getViolations();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void validateList_parallelWithMaxViolations() {
+        List<Integer> xs = Collections.nCopies(100, -1);
+        List<ValidatorViolation> violations = Validator.of(xs)
+                .withStopPolicy(StopPolicy.maxViolations(20))
+                .withParallelism(Parallelism.forkJoin().withThreshold(10).withChunkSize(8))
+                .validateList("xs", Function.identity(), c -> c.addPredicate(x -> x > 0, "not valid"))
+                .getViolations();
+
+        assertEquals(20, violations.size());
+        assertEquals(19, ((ValidatorCollectionViolation) violations.get(19)).getIdx());
+    }
+
+    @Test
+    public void validateOpt_evaluatesProjectionOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        Function<Object, List<Integer>> projection = x -> {
+            calls.incrementAndGet();
+            return Collections.singletonList(1);
+        };
+
+        validator.validateOpt("test", projection, (Function<List<Integer>, List<String>>) xs -> Collections.emptyList())
+                .validateOpt("test", projection, (Consumer<ConstraintFactory<List<Integer>>>) c -> c.addPredicate(xs -> true, "valid"))
+                .validateOpt("test", projection, xs -> true, "valid")
+                .validate("test", projection, xs -> true, "valid")
+                .validateListOpt("test", projection, c -> c.addPredicate(x -> true, "valid"));
+
+        assertEquals(5, calls.get());
+    }
+
+    @Test
+    public void validate_withProjectionCache() {
+        CountingBean bean = new CountingBean();
+        Try<CountingBean> aTry = TryValidator.of(bean)
+                .withProjectionCache()
+                .validate(CountingBean::getName, Objects::nonNull, "may not be null")
+                .validateOpt(CountingBean::getName, name -> name.isEmpty(), "must be empty")
+                .validate(CountingBean::getName, (ConstraintFactory<String> c) -> c.addPredicate(name -> name.length() < 10, "too long"))
+                .get();
+
+        assertEquals(1, bean.calls);
+        assertTrue(aTry.isFailure());
+        ValidatorViolation expected = ValidatorViolation.fromErrors("name", Collections.singletonList("must be empty"));
+        assertEquals(Collections.singletonList(expected), ((ValidationException) aTry.getCause()).getViolations());
+    }
+
+    @Test
+    public void validate_withProjectionCache_boundReceivers() {
+        Projection<String, String> a = "a"::concat;
+        Projection<String, String> b = "b"::concat;
+        Try<String> aTry = TryValidator.of("x")
+                .withProjectionCache()
+                .validate(a, "ax"::equals, "not valid")
+                .validate(b, "bx"::equals, "not valid")
+                .get();
+        assertTrue(aTry.isSuccess());
+    }
+
+    @Test
+    public void reset_withProjectionCache() {
+        Validator<String, ?> validator = Validator.of(" ")
+                .withProjectionCache()
+                .validate(String::trim, s -> !s.isEmpty(), "may not be empty");
+        List<ValidatorViolation> violations = validator.getViolations();
+
+        validator.reset("a");
+        validator.validate(String::trim, s -> !s.isEmpty(), "may not be empty");
+
+        assertTrue(!validator.hasViolations());
+        ValidatorViolation expected = ValidatorViolation.fromErrors("trim", Collections.singletonList("may not be empty"));
+        assertEquals(Collections.singletonList(expected), violations);
+    }
+
+    @Test
+    public void validateMapOpt_withNull() {
+        Function<Object, Map<String, String>> projection = x -> null;
+        Try<Object> aTry = validator.validateMapOpt("test", projection, c -> c.addPredicate(e -> false, "not valid")).get();
+        assertTrue(aTry.isSuccess());
+    }
+
+    @Test
+    public void validateMap_keysAndValues() {
+        Map<String, Integer> map = new LinkedHashMap<>();
+        map.put("a", 1);
+        map.put("", 2);
+        map.put("c", -3);
+        map.put(" ", -4);
+        Function<Object, Map<String, Integer>> projection = x -> map;
+
+        Try<Object> aTry = validator.validateMap("test", projection,
+                keys -> {
+                    keys.addPredicate(k -> !k.isEmpty(), "may not be empty");
+                    keys.addPredicate(k -> !k.trim().isEmpty(), "may not be blank");
+                },
+                values -> values.addPredicate(v -> v > 0, "must be positive"))
+                .validateMapOpt("opt", x -> null, keys -> keys.addPredicate(k -> false, "not valid"), values -> {
+                })
+                .get();
+
+        List<ValidatorViolation> expected = Arrays.asList(
+                new ValidatorMapViolation("test", "", Arrays.asList("may not be empty", "may not be blank"), null),
+                new ValidatorMapViolation("test", "c", null, Collections.singletonList("must be positive")),
+                new ValidatorMapViolation("test", " ", Collections.singletonList("may not be blank"), Collections.singletonList("must be positive")));
+        assertEquals(expected, ((ValidationException) aTry.getCause()).getViolations());
+    }
+
+    @Test
+    public void toResult() {
+        ValidationResult<Object> valid = validator.validate("test", o -> true, "valid").toResult();
+        assertTrue(valid.isValid());
+        assertEquals(Collections.emptyList(), valid.getViolations());
+
+        ValidationResult<Object> invalid = TryValidator.of(new Object()).validate("test", o -> false, "not valid").toResult();
+        assertTrue(invalid.isInvalid());
+        assertEquals(Collections.singletonList(ValidatorViolation.fromErrors("test", Collections.singletonList("not valid"))),
+                invalid.getViolations());
+        assertEquals(Integer.valueOf(1), invalid.fold(List::size, o -> 0));
+        assertTrue(!invalid.toOptional().isPresent());
+    }
+
+    @Test
+    public void toResult_invalidObjectMethods() {
+        ValidationResult<String> invalid = Validator.of("").validate("s", s -> s, s -> !s.isEmpty(), "empty").toResult();
+        ValidationResult<String> other = Validator.of("").validate("s", s -> s, s -> !s.isEmpty(), "empty").toResult();
+
+        assertTrue(invalid.toString().contains("empty"));
+        assertEquals(invalid, other);
+        assertEquals(invalid.hashCode(), other.hashCode());
+        assertTrue(!invalid.equals(ValidationResult.valid("")));
+    }
+
+    @Test
+    public void validationException_stackless() {
+        List<ValidatorViolation> violations = Collections.singletonList(ValidatorViolation.fromErrors("test", Collections.singletonList("not valid")));
+
+        assertEquals(0, new ValidationException(violations, false).getStackTrace().length);
+        assertTrue(new ValidationException(violations, true).getStackTrace().length > 0);
+        assertEquals(new ValidationException(violations, true), new ValidationException(violations, false));
+
+        ValidationException stackless = new ValidationException(violations, false);
+        stackless.addSuppressed(new IllegalStateException());
+        assertEquals(1, stackless.getSuppressed().length);
+    }
+
+    @Test
+    public void validatePrimitives() {
+        Try<Item> aTry = TryValidator.of(new Item(0, 10L, 1.5))
+                .validateInt(Item::getQuantity, q -> q > 0, "must be positive")
+                .validateLong(Item::getPrice, p -> BasicValidations.max(p, 5L))
+                .validateDouble("weight", Item::getWeight, w -> w < 2.0, "too heavy")
+                .get();
+
+        List<ValidatorViolation> expected = Arrays.asList(
+                ValidatorViolation.fromErrors("quantity", Collections.singletonList("must be positive")),
+                ValidatorViolation.fromErrors("price", Collections.singletonList("must be less than or equal to 5")));
+        assertEquals(expected, ((ValidationException) aTry.getCause()).getViolations());
+    }
+
+    @Test
+    public void namedProjection_deserialized() throws Exception {
+        Item item = new Item(0, 10L, 1.5);
+        IntProjection<Item> quantity = deserialize(NamedProjection.ofInt(Item.class, "quantity", Item::getQuantity));
+        LongProjection<Item> price = deserialize(NamedProjection.ofLong(Item.class, "price", Item::getPrice));
+        DoubleProjection<Item> weight = deserialize(NamedProjection.ofDouble(Item.class, "weight", Item::getWeight));
+        Projection<String, Integer> length = deserialize(NamedProjection.of(String.class, "length", String::length));
+
+        assertEquals(0, quantity.applyAsInt(item));
+        assertEquals(10L, price.applyAsLong(item));
+        assertEquals(1.5, weight.applyAsDouble(item), 0.0);
+        assertEquals(Integer.valueOf(3), length.apply("abc"));
+        assertEquals("quantity", quantity.getName());
+        assertEquals("NamedProjection(" + String.class.getName() + "::length)", length.toString());
+    }
+
+    @Test
+    public void namedProjection_withProjectionCache() {
+        Projection<String, String> value = NamedProjection.of(String.class, "name", s -> s);
+        Projection<String, String> empty = NamedProjection.of(String.class, "name", s -> "");
+        Try<String> aTry = TryValidator.of("a")
+                .withProjectionCache()
+                .validate(value, s -> !s.isEmpty(), "may not be empty")
+                .validate(empty, s -> !s.isEmpty(), "may not be empty")
+                .validate(value, s -> !s.isEmpty(), "may not be empty")
+                .get();
+
+        ValidatorViolation expected = ValidatorViolation.fromErrors("name", Collections.singletonList("may not be empty"));
+        assertEquals(Collections.singletonList(expected), ((ValidationException) aTry.getCause()).getViolations());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T deserialize(T value) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+
+    @Test
+    public void validateList_withPrimitiveConstraints() {
+        List<Item> items = Arrays.asList(new Item(1, 1L, 1.0), new Item(-1, 1L, 1.0));
+        Try<Object> aTry = validator.validateList("items", o -> items, c -> {
+            c.addIntPredicate(Item::getQuantity, q -> q > 0, "must be positive");
+            c.addLongFunction(Item::getPrice, p -> BasicValidations.min(p, 1L));
+        }).get();
+
+        ValidatorViolation expected = ValidatorCollectionViolation.fromCollectionErrors("items", 1, Collections.singletonList("must be positive"));
+        assertEquals(Collections.singletonList(expected), ((ValidationException) aTry.getCause()).getViolations());
+    }
+
+    static class Item {
+        private final int quantity;
+        private final long price;
+        private final double weight;
+
+        Item(int quantity, long price, double weight) {
+            this.quantity = quantity;
+            this.price = price;
+            this.weight = weight;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public long getPrice() {
+            return price;
+        }
+
+        public double getWeight() {
+            return weight;
+        }
+    }
+
+    @Test
+    public void validateIterable() {
+        Try<Tags> aTry = TryValidator.of(new Tags(new LinkedHashSet<>(Arrays.asList("ab", "c", "de", "f"))))
+                .validateIterable(Tags::getValues, c -> c.addPredicate(x -> x.length() > 1, "too short"))
+                .get();
+
+        List<ValidatorViolation> expected = Arrays.asList(
+                ValidatorCollectionViolation.fromCollectionErrors("values", 1, Collections.singletonList("too short")),
+                ValidatorCollectionViolation.fromCollectionErrors("values", 3, Collections.singletonList("too short")));
+        assertEquals(expected, ((ValidationException) aTry.getCause()).getViolations());
+    }
+
+    @Test
+    public void validateIterable_subtypeProjection() {
+        Function<Tags, Set<String>> values = Tags::getValues;
+        Function<Tags, Stream<String>> stream = tags -> tags.getValues().stream();
+        Tags tags = new Tags(new LinkedHashSet<>(Arrays.asList("ab", "c")));
+        ValidatorSpec<Tags> spec = ValidatorSpec.<Tags>builder()
+                .validateIterable("values", values, c -> c.addPredicate(x -> x.length() > 1, "too short"))
+                .validateStreamOpt("stream", stream, c -> c.addPredicate(x -> x.length() > 1, "too short"))
+                .build();
+
+        Try<Tags> aTry = TryValidator.of(tags)
+                .validateIterable("values", values, c -> c.addPredicate(x -> x.length() > 1, "too short"))
+                .validateStreamOpt("stream", stream, c -> c.addPredicate(x -> x.length() > 1, "too short"))
+                .get();
+
+        List<ValidatorViolation> expected = Arrays.asList(
+                ValidatorCollectionViolation.fromCollectionErrors("values", 1, Collections.singletonList("too short")),
+                ValidatorCollectionViolation.fromCollectionErrors("stream", 1, Collections.singletonList("too short")));
+        assertEquals(expected, ((ValidationException) aTry.getCause()).getViolations());
+        assertEquals(expected, spec.apply(tags).getViolations());
+    }
+
+    @Test
+    public void validateStream() {
+        Try<Object> aTry = validator
+                .validateStream("xs", o -> Stream.of(1, -2, 3), c -> c.addPredicate(x -> x > 0, "not valid"))
+                .validateStreamOpt("ys", o -> null, c -> c.addPredicate(x -> false, "not valid"))
+                .get();
+
+        ValidatorViolation expected = ValidatorCollectionViolation.fromCollectionErrors("xs", 1, Collections.singletonList("not valid"));
+        assertEquals(Collections.singletonList(expected), ((ValidationException) aTry.getCause()).getViolations());
+    }
+
+    @Test
+    public void validateStream_withProjectionCache() {
+        Try<Box> aTry = TryValidator.of(new Box())
+                .withProjectionCache()
+                .validateStream(Box::getItems, c -> c.addPredicate(x -> x > 0, "not valid"))
+                .validateStream(Box::getItems, c -> c.addPredicate(x -> x < 3, "too big"))
+                .get();
+
+        List<ValidatorViolation> expected = Arrays.asList(
+                ValidatorCollectionViolation.fromCollectionErrors("items", 1, Collections.singletonList("not valid")),
+                ValidatorCollectionViolation.fromCollectionErrors("items", 2, Collections.singletonList("too big")));
+        assertEquals(expected, ((ValidationException) aTry.getCause()).getViolations());
+    }
+
+    @Test
+    public void validateList_linkedList() {
+        List<Integer> xs = new LinkedList<>(Arrays.asList(1, 2, -3));
+        Try<Object> aTry = validator.validateList("xs", o -> xs, c -> c.addPredicate(x -> x > 0, "not valid")).get();
+
+        ValidatorViolation expected = ValidatorCollectionViolation.fromCollectionErrors("xs", 2, Collections.singletonList("not valid"));
+        assertEquals(Collections.singletonList(expected), ((ValidationException) aTry.getCause()).getViolations());
+    }
+
+    static class Tags {
+        private final Set<String> values;
+
+        Tags(Set<String> values) {
+            this.values = values;
+        }
+
+        public Set<String> getValues() {
+            return values;
+        }
+    }
+
+    static class CountingBean {
+        int calls;
+
+        public String getName() {
+            calls++;
+            return "name";
+        }
+    }
+
+    static class Box {
+        public Stream<Integer> getItems() {
+            return Stream.of(1, -2, 3);
+        }
+    }
+
     static class TClass {
         public Optional<Integer> get() {
             return Optional.of(1);
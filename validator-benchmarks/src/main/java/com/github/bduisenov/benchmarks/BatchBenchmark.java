@@ -0,0 +1,69 @@
+package com.github.bduisenov.benchmarks;
+
+import com.github.bduisenov.BatchResult;
+import com.github.bduisenov.Parallelism;
+import com.github.bduisenov.ValidatorSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation of many root objects: one {@code apply} per record against {@code validateAll}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchBenchmark {
+
+    private static final ValidatorSpec<Order> SPEC = ValidatorSpec.<Order>builder()
+            .validate(Order::getId, Objects::nonNull, "may not be null")
+            .validateOpt(Order::getQuantity, quantity -> quantity > 0, "must be positive")
+            .build();
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<Order> orders;
+
+    @Setup
+    public void setUp() {
+        orders = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            orders.add(new Order(i % 100 == 0 ? null : "order-" + i, null, 1, null, null));
+        }
+    }
+
+    @Benchmark
+    public void applyEach(Blackhole blackhole) {
+        for (Order order : orders) {
+            blackhole.consume(SPEC.apply(order));
+        }
+    }
+
+    @Benchmark
+    public BatchResult validateAll() {
+        return SPEC.validateAll(orders);
+    }
+
+    @Benchmark
+    public BatchResult validateAllParallel() {
+        return SPEC.validateAll(orders, Parallelism.forkJoin());
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.bduisenov.benchmarks;
+
+import com.github.bduisenov.Parallelism;
+import com.github.bduisenov.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code validateList} and {@code validateMap} over collections of 10 to 1M elements, sequentially and in parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int size;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        order = Order.of(size);
+    }
+
+    @Benchmark
+    public Validator<Order, ?> validateList() {
+        return Validator.of(order)
+                .validateList(Order::getItems, constraints -> {
+                    constraints.addPredicate(item -> item.getSku() != null, "may not be null");
+                    constraints.addPredicate(item -> item.getQuantity() > 0, "must be positive");
+                });
+    }
+
+    @Benchmark
+    public Validator<Order, ?> validateListParallel() {
+        return Validator.of(order)
+                .withParallelism(Parallelism.forkJoin())
+                .validateList(Order::getItems, constraints -> {
+                    constraints.addPredicate(item -> item.getSku() != null, "may not be null");
+                    constraints.addPredicate(item -> item.getQuantity() > 0, "must be positive");
+                });
+    }
+
+    @Benchmark
+    public Validator<Order, ?> validateMap() {
+        return Validator.of(order)
+                .validateMap(Order::getAttributes, constraints -> {
+                    constraints.addPredicate(entry -> !entry._1().isEmpty(), "key may not be empty");
+                    constraints.addPredicate(entry -> entry._2() != null, "value may not be null");
+                });
+    }
+}
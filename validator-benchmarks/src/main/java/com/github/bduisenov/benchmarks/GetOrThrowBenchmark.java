@@ -0,0 +1,52 @@
+package com.github.bduisenov.benchmarks;
+
+import com.github.bduisenov.ValidationException;
+import com.github.bduisenov.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code getOrThrow} on the success path and on the failure path, where a {@link ValidationException} is thrown.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetOrThrowBenchmark {
+
+    private final Order valid = Order.of(1);
+
+    private final Order invalid = new Order(null, null, 0, null, null);
+
+    @Benchmark
+    public Object success() {
+        return validate(valid).getOrThrow();
+    }
+
+    @Benchmark
+    public Object failure() {
+        try {
+            return validate(invalid).getOrThrow();
+        } catch (ValidationException e) {
+            return e;
+        }
+    }
+
+    private static Validator<Order, ?> validate(Order order) {
+        return Validator.of(order)
+                .validate(Order::getId, Objects::nonNull, "may not be null")
+                .validate(Order::getQuantity, quantity -> quantity > 0, "must be positive");
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.bduisenov.benchmarks;
+
+import com.github.bduisenov.ValidatorSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pass/fail answer of a spec: {@code ValidatorSpec#isValid} against {@code apply} followed by {@code hasViolations}.
+ * Run with {@code -prof gc} to compare allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IsValidBenchmark {
+
+    private static final ValidatorSpec<Order> ORDER_SPEC = ValidatorSpec.<Order>builder()
+            .validate(Order::getId, Objects::nonNull, "may not be null")
+            .validate(Order::getQuantity, quantity -> quantity > 0, "must be positive")
+            .validateOpt(Order::getNote, constraints -> {
+                constraints.addPredicate(IsValidBenchmark::isLowerCase, "must be lower case");
+                constraints.addPredicate(note -> note.length() < 100, "is too long");
+            })
+            .validateList(Order::getItems, constraints -> {
+                constraints.addPredicate(item -> !item.getSku().isEmpty(), "sku may not be empty");
+                constraints.addIntPredicate(Order.Item::getQuantity, quantity -> quantity > 0, "quantity must be positive");
+            })
+            .build();
+
+    @Param({"true", "false"})
+    private boolean valid;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        order = valid ? Order.of(10) : new Order("order-1", "NOTE", 1, Order.of(10).getItems(), null);
+    }
+
+    @Benchmark
+    public boolean apply() {
+        return ORDER_SPEC.apply(order).toResult().isValid();
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return ORDER_SPEC.isValid(order);
+    }
+
+    private static boolean isLowerCase(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (Character.isUpperCase(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
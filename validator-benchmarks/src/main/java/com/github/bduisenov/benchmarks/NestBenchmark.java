@@ -0,0 +1,86 @@
+package com.github.bduisenov.benchmarks;
+
+import com.github.bduisenov.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chains of {@code nest} calls of different depth, on valid and invalid leafs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NestBenchmark {
+
+    @Param({"1", "8", "64"})
+    private int depth;
+
+    private Node valid;
+
+    private Node invalid;
+
+    @Setup
+    public void setUp() {
+        valid = Node.chain(depth, "leaf");
+        invalid = Node.chain(depth, null);
+    }
+
+    @Benchmark
+    public Validator<Node, ?> nestValid() {
+        return validate(valid);
+    }
+
+    @Benchmark
+    public Validator<Node, ?> nestInvalid() {
+        return validate(invalid);
+    }
+
+    private static Validator<Node, ?> validate(Node node) {
+        return Validator.of(node)
+                .validate(Node::getName, Objects::nonNull, "may not be null")
+                .nestOpt(Node::getChild, NestBenchmark::validate);
+    }
+
+    public static class Node {
+
+        private final String name;
+
+        private final Node child;
+
+        Node(String name, Node child) {
+            this.name = name;
+            this.child = child;
+        }
+
+        static Node chain(int depth, String leafName) {
+            Node node = new Node(leafName, null);
+            for (int i = 0; i < depth; i++) {
+                node = new Node("node-" + i, node);
+            }
+            return node;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Node getChild() {
+            return child;
+        }
+    }
+}
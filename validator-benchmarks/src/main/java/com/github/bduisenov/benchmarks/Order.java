@@ -0,0 +1,80 @@
+package com.github.bduisenov.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Payload the benchmarks validate.
+ */
+public class Order {
+
+    private final String id;
+
+    private final String note;
+
+    private final Integer quantity;
+
+    private final List<Item> items;
+
+    private final Map<String, String> attributes;
+
+    public Order(String id, String note, Integer quantity, List<Item> items, Map<String, String> attributes) {
+        this.id = id;
+        this.note = note;
+        this.quantity = quantity;
+        this.items = items;
+        this.attributes = attributes;
+    }
+
+    public static Order of(int size) {
+        List<Item> items = new ArrayList<>(size);
+        Map<String, String> attributes = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            items.add(new Item("sku-" + i, i + 1));
+            attributes.put("key-" + i, "value-" + i);
+        }
+        return new Order("order-1", "note", 1, items, attributes);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getNote() {
+        return note;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    public static class Item {
+
+        private final String sku;
+
+        private final int quantity;
+
+        public Item(String sku, int quantity) {
+            this.sku = sku;
+            this.quantity = quantity;
+        }
+
+        public String getSku() {
+            return sku;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+    }
+}
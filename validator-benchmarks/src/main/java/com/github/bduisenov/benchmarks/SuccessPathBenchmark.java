@@ -0,0 +1,66 @@
+package com.github.bduisenov.benchmarks;
+
+import com.github.bduisenov.Validator;
+import com.github.bduisenov.ValidatorSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation of a validation run over a valid object, check {@code gc.alloc.rate.norm}.
+ * <p>
+ * {@link #spec()} is expected to allocate nothing apart from the {@link Validator} itself. {@link #validator()} also
+ * allocates on every call for each constraint group, {@code validate(..., Consumer<ConstraintFactory>)} and
+ * {@code validateList} build a {@code Constraints} and its list of constraints with their prebuilt error lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuccessPathBenchmark {
+
+    private static final ValidatorSpec<Order> SPEC = ValidatorSpec.<Order>builder()
+            .validate(Order::getId, Objects::nonNull, "may not be null")
+            .validate("note", Order::getNote, note -> !note.isEmpty(), "may not be empty")
+            .validateOpt(Order::getQuantity, quantity -> quantity > 0, "must be positive")
+            .validate(Order::getId, constraints -> {
+                constraints.addPredicate(id -> !id.isEmpty(), "may not be empty");
+                constraints.addPredicate(id -> id.length() < 64, "is too long");
+            })
+            .validateList(Order::getItems, constraints -> constraints.addPredicate(item -> item.getQuantity() > 0, "must be positive"))
+            .build();
+
+    private final Order order = Order.of(4);
+
+    /**
+     * Builds the constraint groups on every call, unlike a {@link ValidatorSpec}.
+     */
+    @Benchmark
+    public Validator<Order, ?> validator() {
+        return Validator.of(order)
+                .validate(Order::getId, Objects::nonNull, "may not be null")
+                .validate("note", Order::getNote, note -> !note.isEmpty(), "may not be empty")
+                .validateOpt(Order::getQuantity, quantity -> quantity > 0, "must be positive")
+                .validate(Order::getId, constraints -> {
+                    constraints.addPredicate(id -> !id.isEmpty(), "may not be empty");
+                    constraints.addPredicate(id -> id.length() < 64, "is too long");
+                })
+                .validateList(Order::getItems, constraints -> constraints.addPredicate(item -> item.getQuantity() > 0, "must be positive"));
+    }
+
+    @Benchmark
+    public Validator<Order, ?> spec() {
+        return SPEC.apply(order);
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.bduisenov.benchmarks;
+
+import com.github.bduisenov.Validator;
+import com.github.bduisenov.ValidatorSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single field rules: {@code validate} with projection and explicit names, {@code validateOpt} and
+ * {@code validateWhen}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidateBenchmark {
+
+    private static final ValidatorSpec<Order> SPEC = ValidatorSpec.<Order>builder()
+            .validate(Order::getId, Objects::nonNull, "may not be null")
+            .build();
+
+    private final Order order = Order.of(1);
+
+    private final Order orderWithoutNote = new Order("order-2", null, 1, null, null);
+
+    @Benchmark
+    public Validator<Order, ?> validateProjection() {
+        return Validator.of(order)
+                .validate(Order::getId, Objects::nonNull, "may not be null");
+    }
+
+    @Benchmark
+    public Validator<Order, ?> validateFieldName() {
+        return Validator.of(order)
+                .validate("id", Order::getId, Objects::nonNull, "may not be null");
+    }
+
+    @Benchmark
+    public Validator<Order, ?> validateSpec() {
+        return SPEC.apply(order);
+    }
+
+    @Benchmark
+    public Validator<Order, ?> validateOptPresent() {
+        return Validator.of(order)
+                .validateOpt(Order::getNote, note -> !note.isEmpty(), "may not be empty");
+    }
+
+    @Benchmark
+    public Validator<Order, ?> validateOptAbsent() {
+        return Validator.of(orderWithoutNote)
+                .validateOpt(Order::getNote, note -> !note.isEmpty(), "may not be empty");
+    }
+
+    @Benchmark
+    public Validator<Order, ?> validateWhen() {
+        return Validator.of(order)
+                .validateWhen(o -> o.getNote() != null, validator -> validator
+                        .validate(Order::getQuantity, quantity -> quantity > 0, "must be positive"));
+    }
+}
@@ -0,0 +1,226 @@
+package com.github.bduisenov.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Generates a {@code <Type>Projections} class for every type annotated with
+ * {@code com.github.bduisenov.GenerateProjections}. The class holds a {@code NamedProjection} constant for every public
+ * getter of the type, named like the field in upper snake case:
+ * <pre>{@code
+ * public static final Projection<User, String> NAME = NamedProjection.of(User.class, "name", User::getName);
+ * }</pre>
+ * Field names follow the names resolved at runtime from method references: the {@code get} prefix is removed, the
+ * {@code is} prefix of boolean getters is kept. Getters with the same field name, like {@code isActive()} and
+ * {@code getIsActive()}, are a compile error.
+ * <p>
+ * Getters of {@code int}, {@code short} and {@code byte} produce an {@code IntProjection}, of {@code long} a
+ * {@code LongProjection} and of {@code double} and {@code float} a {@code DoubleProjection}, so they are validated
+ * without boxing. Getters of other primitive types produce projections of the boxed type.
+ */
+@SupportedAnnotationTypes(ProjectionProcessor.ANNOTATION)
+public class ProjectionProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION = "com.github.bduisenov.GenerateProjections";
+
+    private static final String SUFFIX = "Projections";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (!element.getKind().isClass() && !element.getKind().isInterface()) {
+                    error(element, "@GenerateProjections is only applicable to classes and interfaces");
+                } else if (!((TypeElement) element).getTypeParameters().isEmpty()) {
+                    error(element, "@GenerateProjections is not applicable to generic types");
+                } else {
+                    generate((TypeElement) element);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String typeName = type.getQualifiedName().toString();
+        String className = flatName(type) + SUFFIX;
+        Map<String, ExecutableElement> getters = getters(type);
+        if (getters == null) {
+            return;
+        }
+
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter())) {
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            Set<String> imports = new TreeSet<>();
+            imports.add("NamedProjection");
+            for (ExecutableElement getter : getters.values()) {
+                imports.add(projectionType(returnType(type, getter)));
+            }
+            for (String name : imports) {
+                out.println("import com.github.bduisenov." + name + ";");
+            }
+            out.println();
+            out.println("/**");
+            out.println(" * Projections of {@link " + typeName + "}, generated by {@code " + getClass().getName() + "}.");
+            out.println(" */");
+            out.println((type.getModifiers().contains(Modifier.PUBLIC) ? "public " : "") + "final class " + className + " {");
+            for (Map.Entry<String, ExecutableElement> getter : getters.entrySet()) {
+                String fieldName = getter.getKey();
+                TypeMirror returnType = returnType(type, getter.getValue());
+                String projectionType = projectionType(returnType);
+                String declaredType = projectionType.equals("Projection")
+                        ? "Projection<" + typeName + ", " + boxed(returnType) + ">"
+                        : projectionType + "<" + typeName + ">";
+                String factory = "of" + projectionType.replace("Projection", "");
+                out.println();
+                out.println("    public static final " + declaredType + " " + constantName(fieldName)
+                        + " = NamedProjection." + factory + "(" + typeName + ".class, \"" + fieldName + "\", "
+                        + typeName + "::" + getter.getValue().getSimpleName() + ");");
+            }
+            out.println();
+            out.println("    private " + className + "() {");
+            out.println("    }");
+            out.println("}");
+        } catch (IOException e) {
+            error(type, "Unable to generate " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return getters of the type and its supertypes by field name, {@code null} when getters have the same field name
+     */
+    private Map<String, ExecutableElement> getters(TypeElement type) {
+        Map<String, ExecutableElement> getters = new TreeMap<>();
+        boolean collision = false;
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (isGetter(method)) {
+                String fieldName = fieldName(method.getSimpleName().toString());
+                ExecutableElement other = getters.putIfAbsent(fieldName, method);
+                if (other != null && !other.getSimpleName().equals(method.getSimpleName())) {
+                    error(type, "@GenerateProjections: getters " + other.getSimpleName() + "() and " + method.getSimpleName()
+                            + "() have the same field name " + fieldName);
+                    collision = true;
+                }
+            }
+        }
+        return collision ? null : getters;
+    }
+
+    private static boolean isGetter(ExecutableElement method) {
+        Set<Modifier> modifiers = method.getModifiers();
+        if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)
+                || !method.getParameters().isEmpty() || !method.getTypeParameters().isEmpty()
+                || method.getReturnType().getKind() == TypeKind.VOID
+                || ((TypeElement) method.getEnclosingElement()).getQualifiedName().contentEquals("java.lang.Object")) {
+            return false;
+        }
+        String name = method.getSimpleName().toString();
+        if (name.startsWith("get") && name.length() > 3) {
+            return true;
+        }
+        return name.startsWith("is") && name.length() > 2 && method.getReturnType().getKind() == TypeKind.BOOLEAN;
+    }
+
+    /**
+     * Same as {@code LambdaMethodReferenceReflection#normalize}.
+     */
+    static String fieldName(String methodName) {
+        if (methodName.startsWith("get") && methodName.length() > 3) {
+            return methodName.substring(3, 4).toLowerCase() + methodName.substring(4);
+        }
+        return methodName;
+    }
+
+    static String constantName(String fieldName) {
+        StringBuilder sb = new StringBuilder(fieldName.length() + 4);
+        for (int i = 0; i < fieldName.length(); i++) {
+            char c = fieldName.charAt(i);
+            if (Character.isUpperCase(c) && i > 0 && !Character.isUpperCase(fieldName.charAt(i - 1))) {
+                sb.append('_');
+            }
+            sb.append(Character.toUpperCase(c));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return return type of the method as a member of the type, with type arguments of generic supertypes resolved
+     */
+    private TypeMirror returnType(TypeElement type, ExecutableElement method) {
+        ExecutableType member = (ExecutableType) processingEnv.getTypeUtils().asMemberOf((DeclaredType) type.asType(), method);
+        return member.getReturnType();
+    }
+
+    /**
+     * @return simple name of the projection interface for values of the type
+     */
+    private static String projectionType(TypeMirror type) {
+        switch (type.getKind()) {
+            case INT:
+            case SHORT:
+            case BYTE:
+                return "IntProjection";
+            case LONG:
+                return "LongProjection";
+            case DOUBLE:
+            case FLOAT:
+                return "DoubleProjection";
+            default:
+                return "Projection";
+        }
+    }
+
+    private String boxed(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+
+    /**
+     * @return simple names of the type and its enclosing types joined with {@code _}
+     */
+    private static String flatName(TypeElement type) {
+        String name = type.getSimpleName().toString();
+        Element enclosing = type.getEnclosingElement();
+        while (enclosing.getKind() != ElementKind.PACKAGE) {
+            name = enclosing.getSimpleName() + "_" + name;
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
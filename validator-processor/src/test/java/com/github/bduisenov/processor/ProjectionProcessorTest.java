@@ -0,0 +1,125 @@
+package com.github.bduisenov.processor;
+
+import com.github.bduisenov.IntProjection;
+import com.github.bduisenov.Projection;
+import com.github.bduisenov.Validator;
+import com.github.bduisenov.ValidatorViolation;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ProjectionProcessorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void names() {
+        assertEquals("name", ProjectionProcessor.fieldName("getName"));
+        assertEquals("isActive", ProjectionProcessor.fieldName("isActive"));
+        assertEquals("CREATED_AT", ProjectionProcessor.constantName("createdAt"));
+        assertEquals("URL", ProjectionProcessor.constantName("URL"));
+    }
+
+    @Test
+    public void generatesProjections() throws Exception {
+        File source = new File(folder.newFolder("example"), "User.java");
+        Files.write(source.toPath(), String.join("\n",
+                "package example;",
+                "",
+                "@com.github.bduisenov.GenerateProjections",
+                "public class User extends Base<Integer> {",
+                "    public String getName() { return null; }",
+                "    public int getAge() { return 17; }",
+                "    public double getScore() { return 0; }",
+                "    public boolean isActive() { return true; }",
+                "    public static String getDefault() { return null; }",
+                "    public String getPrefix(int length) { return null; }",
+                "}",
+                "",
+                "class Base<T> {",
+                "    public T getVersion() { return null; }",
+                "}").getBytes(StandardCharsets.UTF_8));
+        File output = folder.newFolder("classes");
+
+        compile(source, output);
+
+        String generated = new String(Files.readAllBytes(new File(output, "example/UserProjections.java").toPath()), StandardCharsets.UTF_8);
+        assertTrue(generated.contains("IntProjection<example.User> AGE = NamedProjection.ofInt("));
+        assertTrue(generated.contains("DoubleProjection<example.User> SCORE = NamedProjection.ofDouble("));
+        assertTrue(generated.contains("Projection<example.User, java.lang.Boolean> IS_ACTIVE = "));
+        assertTrue(generated.contains("Projection<example.User, java.lang.Integer> VERSION = "));
+        assertTrue(!generated.contains("DEFAULT") && !generated.contains("PREFIX"));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toURI().toURL()}, getClass().getClassLoader())) {
+            Class<?> projections = loader.loadClass("example.UserProjections");
+            @SuppressWarnings("unchecked")
+            Projection<Object, String> name = (Projection<Object, String>) projections.getField("NAME").get(null);
+            @SuppressWarnings("unchecked")
+            IntProjection<Object> age = (IntProjection<Object>) projections.getField("AGE").get(null);
+            Object user = loader.loadClass("example.User").newInstance();
+
+            assertEquals("name", name.getName());
+            assertEquals(17, age.applyAsInt(user));
+
+            List<ValidatorViolation> violations = Validator.of(user)
+                    .withProjectionCache()
+                    .validate(name, Objects::nonNull, "may not be null")
+                    .validateInt(age, x -> x >= 18, "must be adult")
+                    .toResult()
+                    .getViolations();
+            assertEquals(Arrays.asList(
+                    ValidatorViolation.fromErrors("name", Collections.singletonList("may not be null")),
+                    ValidatorViolation.fromErrors("age", Collections.singletonList("must be adult"))), violations);
+        }
+    }
+
+    @Test
+    public void sameFieldName() throws Exception {
+        File source = new File(folder.newFolder("example"), "Flag.java");
+        Files.write(source.toPath(), String.join("\n",
+                "package example;",
+                "",
+                "@com.github.bduisenov.GenerateProjections",
+                "public class Flag {",
+                "    public boolean isActive() { return true; }",
+                "    public Boolean getIsActive() { return true; }",
+                "}").getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+
+        assertEquals(1, compile(source, folder.newFolder("classes"), errors));
+        assertTrue(errors.toString(), errors.toString().contains("getters isActive() and getIsActive() have the same field name isActive"));
+    }
+
+    private static void compile(File source, File output) {
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        int status = compile(source, output, errors);
+        assertEquals(errors.toString(), 0, status);
+    }
+
+    private static int compile(File source, File output, ByteArrayOutputStream errors) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        return compiler.run(null, null, errors,
+                "-classpath", System.getProperty("java.class.path"),
+                "-processor", ProjectionProcessor.class.getName(),
+                "-d", output.getPath(),
+                "-s", output.getPath(),
+                source.getPath());
+    }
+}